@@ -0,0 +1,78 @@
+package com.morpheus.security;
+
+import com.morpheus.config.JwtProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da emissão e da verificação de tokens no filtro JWT, com e sem o cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+    private String rolesToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-with-at-least-32-characters");
+        properties.setExpiration(3600);
+        properties.setPrefix("Bearer ");
+        properties.getCache().setMaxSize(cacheSize);
+        jwtTokenProvider = new JwtTokenProvider(properties);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.generateToken("user@morpheus.com", 42L);
+        rolesToken = jwtTokenProvider.generateToken("admin@morpheus.com", List.of("USER", "ADMIN"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken("user@morpheus.com", 42L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return jwtTokenProvider.getSubject(token);
+    }
+
+    @Benchmark
+    public List<String> getRoles() {
+        return jwtTokenProvider.getRoles(rolesToken);
+    }
+
+    /**
+     * Caminho usado pelo filtro de autenticação a cada requisição.
+     */
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtTokenProvider.verify(token);
+    }
+}
@@ -0,0 +1,72 @@
+package com.morpheus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.morpheus.dto.EventResponse;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.enums.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade → {@link EventResponse} e serialização JSON da listagem de eventos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int eventCount;
+
+    private List<Event> events;
+    private List<EventResponse> responses;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        EventType[] types = EventType.values();
+        LocalDateTime start = LocalDateTime.now();
+        events = new ArrayList<>(eventCount);
+        for (long i = 1; i <= eventCount; i++) {
+            Event event = new Event();
+            event.setId(i);
+            event.setTitle("Evento " + i);
+            event.setDescription("Descrição do evento " + i);
+            event.setType(types[(int) (i % types.length)]);
+            event.setScheduledFor(start.plusMinutes(i));
+            event.setRecurrenceRule(i % 10 == 0 ? "FREQ=WEEKLY" : null);
+            events.add(event);
+        }
+        responses = mapToResponses();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<EventResponse> mapToResponses() {
+        return events.stream().map(EventService::mapToEventResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,154 @@
+package com.morpheus.service;
+
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drenagem da outbox pelo {@link EventOutboxWorker} com banco e canais substituídos por
+ * stubs em memória: mede o agrupamento em resumos, o despacho limitado pelo
+ * {@link EventDispatcher} e as métricas, sem I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxDispatchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int eventCount;
+
+    @Param({"1000"})
+    public int users;
+
+    private StubOutboxService outboxService;
+    private StubNotificationService notificationService;
+    private EventDispatcher eventDispatcher;
+    private EventOutboxWorker worker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<User> userPool = new ArrayList<>(users);
+        for (long i = 1; i <= users; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setEmail("user" + i + "@morpheus.com");
+            userPool.add(user);
+        }
+        EventType[] types = EventType.values();
+        LocalDateTime scheduledFor = LocalDateTime.now().minusSeconds(1);
+        List<EventOutbox> entries = new ArrayList<>(eventCount);
+        for (long i = 1; i <= eventCount; i++) {
+            Event event = new Event();
+            event.setId(i);
+            event.setTitle("Evento " + i);
+            event.setType(types[(int) (i % types.length)]);
+            event.setScheduledFor(scheduledFor);
+            event.setUser(userPool.get((int) (i % users)));
+            EventOutbox entry = new EventOutbox();
+            entry.setId(i);
+            entry.setEvent(event);
+            entry.setOccurrenceAt(scheduledFor);
+            entries.add(entry);
+        }
+        EventMetrics eventMetrics = new EventMetrics(new SimpleMeterRegistry());
+        outboxService = new StubOutboxService(entries);
+        notificationService = new StubNotificationService(eventMetrics);
+        eventDispatcher = new EventDispatcher(64, 10_000);
+        worker = new EventOutboxWorker(outboxService, notificationService, eventDispatcher, eventMetrics, 200, 7);
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        outboxService.rewind();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        worker.shutdown();
+        eventDispatcher.shutdown();
+        notificationService.shutdown();
+    }
+
+    @Benchmark
+    public int drainOutbox() {
+        return worker.drainOutbox();
+    }
+
+    /**
+     * Outbox em memória que entrega as entradas pré-montadas em lotes, sem persistir resultados.
+     */
+    static class StubOutboxService extends EventOutboxService {
+
+        private final List<EventOutbox> entries;
+        private int cursor;
+
+        StubOutboxService(List<EventOutbox> entries) {
+            super(null, null, 60, 5, 30, 3600, 0);
+            this.entries = entries;
+        }
+
+        void rewind() {
+            cursor = 0;
+        }
+
+        @Override
+        public List<EventOutbox> claimBatch(int limit) {
+            int end = Math.min(cursor + limit, entries.size());
+            List<EventOutbox> batch = entries.subList(cursor, end);
+            cursor = end;
+            return batch;
+        }
+
+        @Override
+        public void recordOutcome(List<Long> delivered, Map<EventOutbox, String> retryable, Map<EventOutbox, String> failed) {
+        }
+    }
+
+    /**
+     * Notificador que apenas conta as mensagens, isolando o custo do despacho.
+     */
+    static class StubNotificationService extends EventNotificationService {
+
+        private final AtomicInteger sent = new AtomicInteger();
+
+        StubNotificationService(EventMetrics eventMetrics) {
+            super(List.of(), eventMetrics, 1, 1);
+        }
+
+        @Override
+        public void notifyEvent(EventOutbox entry) {
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void notifyDigest(User user, EventType type, List<EventOutbox> entries) {
+            sent.incrementAndGet();
+        }
+    }
+}
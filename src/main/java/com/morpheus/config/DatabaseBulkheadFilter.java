@@ -0,0 +1,131 @@
+package com.morpheus.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead das requisições de {@code /events}: limita quantas são processadas ao mesmo tempo
+ * (o que, na prática, limita o trabalho concorrente no banco) ao tamanho do pool do Hikari.
+ * As excedentes esperam uma permissão por até {@code max-wait-millis} e, depois disso, recebem
+ * 503 com {@code Retry-After}, em vez de se acumularem na fila de conexões do pool.
+ * <p>
+ * Ativado pelo perfil {@code db-bulkhead}. As rotas de {@code /auth} ficam de fora porque o custo
+ * delas é o BCrypt, já limitado pelo pool do {@link com.morpheus.security.PasswordHasher}; segurar
+ * uma permissão durante o hashing apenas tiraria vazão das consultas de eventos. Nas exportações
+ * em streaming a permissão acompanha o processamento assíncrono e só é devolvida quando a
+ * resposta termina (com sucesso, erro ou timeout), pois é ali que o banco é lido.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "morpheus.web.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String PROTECTED_PATH = "/events";
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public DatabaseBulkheadFilter(MeterRegistry registry,
+                                  @Value("${morpheus.web.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                                  @Value("${morpheus.web.bulkhead.max-wait-millis:2000}") long maxWaitMillis) {
+        if (maxConcurrent <= 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Configuração inválida para o bulkhead de requisições.");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.waitTimer = Timer.builder("morpheus.web.bulkhead.wait")
+                .description("Espera por uma permissão do bulkhead de requisições")
+                .register(registry);
+        this.rejected = Counter.builder("morpheus.web.bulkhead.rejected")
+                .description("Requisições recusadas por saturação do bulkhead")
+                .register(registry);
+        Gauge.builder("morpheus.web.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Permissões livres no bulkhead de requisições")
+                .register(registry);
+        log.info("Bulkhead de requisições: {} simultâneas, espera máxima de {} ms.", maxConcurrent, maxWaitMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !(path.equals(PROTECTED_PATH) || path.startsWith(PROTECTED_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        boolean releaseOnAsyncCompletion = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                releaseOnAsyncCompletion = true;
+            }
+        } finally {
+            if (!releaseOnAsyncCompletion) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Devolve a permissão quando o processamento assíncrono termina. O contêiner sempre chama
+     * {@code onComplete}, inclusive depois de erro ou timeout.
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
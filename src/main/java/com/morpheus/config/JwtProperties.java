@@ -13,4 +13,36 @@ public class JwtProperties {
     private String secret;
     private int expiration;
     private String prefix;
+    private VerifiedCache cache = new VerifiedCache();
+    private Refresh refresh = new Refresh();
+    private Revocation revocation = new Revocation();
+
+    /**
+     * Cache de tokens já verificados; {@code maxSize = 0} desativa o cache.
+     */
+    @Getter
+    @Setter
+    public static class VerifiedCache {
+        private long maxSize = 10000;
+        private long ttlSeconds = 60;
+    }
+
+    /**
+     * Refresh tokens opacos e rotativos; {@code expiration} em segundos.
+     */
+    @Getter
+    @Setter
+    public static class Refresh {
+        private long expiration = 2592000;
+    }
+
+    /**
+     * Dimensionamento do filtro de Bloom da lista de revogação de access tokens.
+     */
+    @Getter
+    @Setter
+    public static class Revocation {
+        private int expectedEntries = 100000;
+        private double falsePositiveRate = 0.01;
+    }
 }
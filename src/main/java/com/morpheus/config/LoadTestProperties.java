@@ -0,0 +1,70 @@
+package com.morpheus.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração do perfil {@code loadtest}: geração de dados sintéticos e driver de carga.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "morpheus.loadtest")
+public class LoadTestProperties {
+    private Generate generate = new Generate();
+    private Driver driver = new Driver();
+
+    @Getter
+    @Setter
+    public static class Generate {
+        private int users = 1000;
+        private int eventsPerUser = 100;
+        /** Fração dos eventos no passado, já notificados. */
+        private double pastRatio = 0.5;
+        private int horizonDays = 30;
+        /** Fração dos eventos futuros que vencem durante a execução do driver. */
+        private double dueDuringRunRatio = 0.01;
+        private String password = "loadtest";
+        private long seed = 42;
+    }
+
+    @Getter
+    @Setter
+    public static class Driver {
+        private boolean enabled = false;
+        /** URL base da API; vazio usa a própria instância. */
+        private String baseUrl;
+        private int clients = 32;
+        private long durationSeconds = 60;
+        private long warmupSeconds = 10;
+        private long tickIntervalSeconds = 5;
+        private String reportFile = "target/loadtest/report.json";
+        private boolean exitOnFinish = false;
+        /** Peso de cada operação: login, list, page, occurrences e create. */
+        private Map<String, Integer> mix = new LinkedHashMap<>(Map.of(
+                "login", 5, "list", 30, "page", 40, "occurrences", 5, "create", 20));
+
+        public int totalWeight() {
+            return mix.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * @param roll valor sorteado em {@code [0, totalWeight())}
+         * @return operação correspondente ao sorteio
+         */
+        public String pickOperation(int roll) {
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            return "list";
+        }
+    }
+}
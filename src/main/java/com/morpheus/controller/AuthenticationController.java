@@ -1,6 +1,7 @@
 package com.morpheus.controller;
 
 import com.morpheus.dto.LoginRequest;
+import com.morpheus.dto.RefreshRequest;
 import com.morpheus.dto.RegisterRequest;
 import com.morpheus.dto.TokenResponse;
 import com.morpheus.service.AuthenticationService;
@@ -13,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
+    private static final String BEARER = "Bearer ";
+
     private final AuthenticationService authenticationService;
 
     /**
@@ -27,6 +30,35 @@ public class AuthenticationController {
         return ResponseEntity.ok(tokenResponse);
     }
 
+    /**
+     * Renova o access token a partir de um refresh token, sem reenviar a senha.
+     *
+     * @param refreshRequest refresh token atual, que é consumido
+     * @return novo access token e novo refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authenticationService.refresh(refreshRequest));
+    }
+
+    /**
+     * Encerra a sessão, revogando o access token do cabeçalho {@code Authorization} e,
+     * se informado, o refresh token. Com {@code all=true}, encerra todas as sessões do usuário.
+     *
+     * @param authorization  cabeçalho com o access token
+     * @param refreshRequest refresh token da sessão, opcional
+     * @param all            encerra todas as sessões
+     * @return resposta sem conteúdo
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) RefreshRequest refreshRequest,
+                                       @RequestParam(defaultValue = "false") boolean all) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER) ? authorization.substring(BEARER.length()) : null;
+        authenticationService.logout(accessToken, refreshRequest != null ? refreshRequest.refreshToken() : null, all);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Realiza o registro de um novo usuário.
      *
@@ -1,13 +1,32 @@
 package com.morpheus.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.morpheus.dto.EventFilter;
+import com.morpheus.dto.EventImportResponse;
+import com.morpheus.dto.EventOccurrence;
+import com.morpheus.dto.EventPage;
 import com.morpheus.dto.EventRequest;
 import com.morpheus.dto.EventResponse;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.notification.EventStreamRegistry;
+import com.morpheus.security.AuthenticatedUser;
 import com.morpheus.service.EventService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -15,33 +34,160 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EventController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final EventService eventService;
+    private final EventStreamRegistry eventStreamRegistry;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<EventResponse>> listEvents(Authentication authentication) {
-        String userEmail = getUserEmail(authentication);
-        List<EventResponse> events = eventService.listEvents(userEmail);
+        List<EventResponse> events = eventService.listEvents(getAuthenticatedUser(authentication));
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Lista uma página de eventos do usuário com filtros opcionais por intervalo de
+     * agendamento, tipo e situação de notificação.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<EventPage> listEventsPage(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                    @RequestParam(required = false) EventType type,
+                                                    @RequestParam(required = false) Boolean notified,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    @RequestParam(defaultValue = "true") boolean includeDescription,
+                                                    Authentication authentication) {
+        EventFilter filter = new EventFilter(from, to, type, notified);
+        return ResponseEntity.ok(eventService.listEvents(getAuthenticatedUser(authentication), filter, cursor, limit, includeDescription));
+    }
+
+    /**
+     * Lista as ocorrências dos eventos do usuário na janela informada, expandindo as séries recorrentes.
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<EventOccurrence>> listOccurrences(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                 Authentication authentication) {
+        return ResponseEntity.ok(eventService.listOccurrences(getAuthenticatedUser(authentication), from, to));
+    }
+
+    /**
+     * Exporta os eventos do usuário em NDJSON (um evento por linha), escrevendo cada
+     * linha à medida que é lida do banco. O mesmo formato é aceito por {@code POST /events/batch}.
+     */
+    @GetMapping(path = {"", "/batch"}, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamEvents(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestParam(required = false) EventType type,
+                                                              @RequestParam(required = false) Boolean notified,
+                                                              @RequestParam(defaultValue = "true") boolean includeDescription,
+                                                              Authentication authentication) {
+        AuthenticatedUser user = getAuthenticatedUser(authentication);
+        EventFilter filter = new EventFilter(from, to, type, notified);
+        StreamingResponseBody body = out -> eventService.streamEvents(user, filter, includeDescription, event -> writeLine(out, event));
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Abre um stream SSE com as notificações dos eventos do usuário à medida que vencem,
+     * dispensando a consulta periódica da lista. Na reconexão, o cabeçalho {@code Last-Event-ID}
+     * reenvia as notificações perdidas; se elas já não estiverem retidas, o evento {@code reset}
+     * indica que a lista deve ser recarregada.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                          Authentication authentication) {
+        return eventStreamRegistry.subscribe(getAuthenticatedUser(authentication).email(), parseEventId(lastEventId));
+    }
+
+    /**
+     * Importa eventos em massa a partir de um array JSON.
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EventImportResponse> importEvents(@RequestBody List<EventRequest> eventRequests, Authentication authentication) {
+        int imported = eventService.importEvents(getAuthenticatedUser(authentication), eventRequests.iterator());
+        return ResponseEntity.status(201).body(new EventImportResponse(imported));
+    }
+
+    /**
+     * Importa eventos em massa a partir de um fluxo NDJSON, lido linha a linha.
+     */
+    @PostMapping(path = "/batch", consumes = NDJSON)
+    public ResponseEntity<EventImportResponse> importEventsStream(InputStream body, Authentication authentication) throws IOException {
+        AuthenticatedUser user = getAuthenticatedUser(authentication);
+        try (MappingIterator<EventRequest> lines = objectMapper.readerFor(EventRequest.class).readValues(body)) {
+            int imported = eventService.importEvents(user, ndjsonIterator(lines));
+            return ResponseEntity.status(201).body(new EventImportResponse(imported));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<EventResponse> createEvent(@RequestBody EventRequest eventRequest, Authentication authentication) {
-        String userEmail = getUserEmail(authentication);
-        EventResponse createdEvent = eventService.createEvent(userEmail, eventRequest);
+        EventResponse createdEvent = eventService.createEvent(getAuthenticatedUser(authentication), eventRequest);
         return ResponseEntity.status(201).body(createdEvent);
     }
 
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Iterator<EventRequest> ndjsonIterator(MappingIterator<EventRequest> lines) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return lines.hasNextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("NDJSON inválido: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public EventRequest next() {
+                try {
+                    return lines.nextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("NDJSON inválido: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private void writeLine(OutputStream out, EventResponse event) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
-     * Obtém o e-mail do usuário autenticado.
+     * Obtém o usuário autenticado (id e e-mail) a partir do principal do token.
      *
      * @param authentication informações de autenticação
-     * @return e-mail do usuário
+     * @return usuário autenticado
      * @throws IllegalArgumentException se a autenticação for inválida
      */
-    private String getUserEmail(Authentication authentication) {
+    private AuthenticatedUser getAuthenticatedUser(Authentication authentication) {
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new IllegalArgumentException("Authentication information is missing");
         }
-        return (String) authentication.getPrincipal();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser;
+        } else if (principal instanceof String email) {
+            return new AuthenticatedUser(null, email);
+        }
+        throw new IllegalArgumentException("Authentication information is invalid");
     }
 }
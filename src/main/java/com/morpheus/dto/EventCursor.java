@@ -0,0 +1,38 @@
+package com.morpheus.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na paginação por chave ({@code scheduledFor}, {@code id}), serializada como
+ * um token opaco em Base64 URL-safe.
+ */
+public record EventCursor(LocalDateTime scheduledFor, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = scheduledFor + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor token recebido do cliente, ou {@code null} para a primeira página
+     * @return posição decodificada, ou {@code null} para a primeira página
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.morpheus.dto;
+
+import com.morpheus.model.enums.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais da listagem de eventos; campos nulos não restringem o resultado.
+ */
+public record EventFilter(
+        LocalDateTime from,
+        LocalDateTime to,
+        EventType type,
+        Boolean notified
+) {
+    public EventFilter {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("O início do intervalo deve ser anterior ao fim.");
+        }
+    }
+
+    public static EventFilter none() {
+        return new EventFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.morpheus.dto;
+
+import com.morpheus.model.enums.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ocorrência de um evento dentro de uma janela de listagem; eventos únicos geram uma
+ * ocorrência e séries recorrentes são expandidas apenas dentro da janela.
+ */
+public record EventOccurrence(
+        Long eventId,
+        String title,
+        EventType type,
+        LocalDateTime occursAt,
+        boolean notified
+) {
+}
@@ -0,0 +1,12 @@
+package com.morpheus.dto;
+
+import java.util.List;
+
+/**
+ * Página de eventos; {@code nextCursor} é nulo quando não há mais páginas.
+ */
+public record EventPage(
+        List<EventResponse> items,
+        String nextCursor
+) {
+}
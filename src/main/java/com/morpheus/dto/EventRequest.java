@@ -4,10 +4,18 @@ import com.morpheus.model.enums.EventType;
 
 import java.time.LocalDateTime;
 
+/**
+ * @param recurrence regra RRULE opcional (ex.: {@code FREQ=YEARLY}); quando presente,
+ *                   {@code scheduledFor} é a primeira ocorrência da série
+ */
 public record EventRequest(
         String title,
         String description,
         EventType type,
-        LocalDateTime scheduledFor
+        LocalDateTime scheduledFor,
+        String recurrence
 ) {
+    public EventRequest(String title, String description, EventType type, LocalDateTime scheduledFor) {
+        this(title, description, type, scheduledFor, null);
+    }
 }
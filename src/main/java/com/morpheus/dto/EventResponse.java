@@ -4,12 +4,27 @@ import com.morpheus.model.enums.EventType;
 
 import java.time.LocalDateTime;
 
+/**
+ * @param scheduledFor próxima ocorrência pendente, no caso de séries recorrentes
+ * @param recurrence   regra RRULE da série, ou {@code null} para eventos únicos
+ */
 public record EventResponse(
         Long id,
         String title,
         String description,
         EventType type,
         LocalDateTime scheduledFor,
-        boolean notified
+        boolean notified,
+        String recurrence
 ) {
+    public EventResponse(Long id, String title, String description, EventType type, LocalDateTime scheduledFor, boolean notified) {
+        this(id, title, description, type, scheduledFor, notified, null);
+    }
+
+    /**
+     * Resumo do evento sem a descrição, usado pelas projeções que não leem a coluna {@code description}.
+     */
+    public EventResponse(Long id, String title, EventType type, LocalDateTime scheduledFor, boolean notified, String recurrence) {
+        this(id, title, null, type, scheduledFor, notified, recurrence);
+    }
 }
@@ -0,0 +1,6 @@
+package com.morpheus.dto;
+
+public record RefreshRequest(
+        String refreshToken
+) {
+}
@@ -1,6 +1,10 @@
 package com.morpheus.dto;
 
 public record TokenResponse(
-        String token
+        String token,
+        String refreshToken
 ) {
+    public TokenResponse(String token) {
+        this(token, null);
+    }
 }
@@ -0,0 +1,8 @@
+package com.morpheus.dto;
+
+public record UserIdentity(
+        Long id,
+        String email,
+        String name
+) {
+}
@@ -0,0 +1,11 @@
+package com.morpheus.exception;
+
+/**
+ * Lançada quando o pool de hashing de senhas está saturado e a requisição de
+ * autenticação é recusada de imediato, em vez de ocupar uma thread do servidor.
+ */
+public class AuthenticationOverloadedException extends RuntimeException {
+    public AuthenticationOverloadedException() {
+        super("Serviço de autenticação sobrecarregado. Tente novamente em instantes.");
+    }
+}
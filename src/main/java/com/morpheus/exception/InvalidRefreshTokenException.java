@@ -0,0 +1,10 @@
+package com.morpheus.exception;
+
+/**
+ * Refresh token inexistente, expirado, revogado ou já utilizado.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super("Refresh token inválido ou expirado.");
+    }
+}
@@ -0,0 +1,308 @@
+package com.morpheus.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.morpheus.config.LoadTestProperties;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.service.EventSchedulerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver de carga do perfil {@code loadtest}. Após a inicialização, dispara clientes HTTP
+ * simultâneos que repetem uma mistura ponderada de login, listagens e criação de eventos,
+ * enquanto aciona varreduras do agendador em intervalo fixo. Ao final, registra e grava em
+ * JSON a vazão e os percentis de latência por operação, a duração das varreduras e o atraso
+ * de entrega das notificações ({@code morpheus.notification.lag}).
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@Order(2)
+@ConditionalOnProperty(name = "morpheus.loadtest.driver.enabled", havingValue = "true")
+public class LoadTestDriver implements ApplicationRunner {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final EventType[] TYPES = EventType.values();
+
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final EventSchedulerService eventSchedulerService;
+    private final MeterRegistry applicationRegistry;
+    private final ConfigurableApplicationContext applicationContext;
+    private final LoadTestProperties.Driver settings;
+    private final LoadTestProperties.Generate generated;
+    private final SimpleMeterRegistry driverRegistry = new SimpleMeterRegistry();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private volatile long measureStartNanos;
+
+    public LoadTestDriver(Environment environment,
+                          ObjectMapper objectMapper,
+                          EventSchedulerService eventSchedulerService,
+                          MeterRegistry applicationRegistry,
+                          ConfigurableApplicationContext applicationContext,
+                          LoadTestProperties properties) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.eventSchedulerService = eventSchedulerService;
+        this.applicationRegistry = applicationRegistry;
+        this.applicationContext = applicationContext;
+        this.settings = properties.getDriver();
+        this.generated = properties.getGenerate();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread driver = new Thread(this::drive, "morpheus-loadtest-driver");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    private void drive() {
+        String baseUrl = settings.getBaseUrl() != null && !settings.getBaseUrl().isBlank()
+                ? settings.getBaseUrl()
+                : "http://localhost:" + environment.getProperty("local.server.port", "8080")
+                + environment.getProperty("server.servlet.context-path", "");
+        log.info("Teste de carga iniciado contra {}: {} clientes por {} s (+{} s de aquecimento).",
+                baseUrl, settings.getClients(), settings.getDurationSeconds(), settings.getWarmupSeconds());
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long deadlineNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        ticker.scheduleWithFixedDelay(this::tick, settings.getTickIntervalSeconds(), settings.getTickIntervalSeconds(), TimeUnit.SECONDS);
+        CountDownLatch finished = new CountDownLatch(settings.getClients());
+        for (int i = 0; i < settings.getClients(); i++) {
+            Thread client = new Thread(() -> {
+                try {
+                    runClient(baseUrl, deadlineNanos);
+                } finally {
+                    finished.countDown();
+                }
+            }, "morpheus-loadtest-client-" + i);
+            client.setDaemon(true);
+            client.start();
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ticker.shutdownNow();
+        }
+        report();
+        if (settings.isExitOnFinish()) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void runClient(String baseUrl, long deadlineNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = login(baseUrl, random);
+        while (System.nanoTime() < deadlineNanos) {
+            String operation = settings.pickOperation(random.nextInt(settings.totalWeight()));
+            if ("login".equals(operation) || token == null) {
+                token = login(baseUrl, random);
+                continue;
+            }
+            String authorization = "Bearer " + token;
+            HttpRequest request = switch (operation) {
+                case "list" -> get(baseUrl + "/events", authorization);
+                case "page" -> get(baseUrl + "/events/page?limit=50&includeDescription=false", authorization);
+                case "occurrences" -> {
+                    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                    yield get(baseUrl + "/events/occurrences?from=" + from + "&to=" + from.plusDays(7), authorization);
+                }
+                default -> post(baseUrl + "/events", authorization, newEvent(random));
+            };
+            execute(operation, request);
+        }
+    }
+
+    private String login(String baseUrl, ThreadLocalRandom random) {
+        String email = SyntheticDataGenerator.email(random.nextInt(Math.max(1, generated.getUsers())));
+        HttpRequest request = post(baseUrl + "/auth/login", null,
+                Map.of("email", email, "password", generated.getPassword()));
+        HttpResponse<byte[]> response = execute("login", request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("token").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpResponse<byte[]> execute(String operation, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        boolean failed;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            failed = response.statusCode() >= 300;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+        if (start >= measureStartNanos) {
+            timer("morpheus.loadtest.request", operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (failed) {
+                errors.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+            }
+        }
+        return response;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        try {
+            eventSchedulerService.checkScheduledEvents();
+        } catch (Exception e) {
+            errors.computeIfAbsent("tick", key -> new AtomicLong()).incrementAndGet();
+        }
+        if (start >= measureStartNanos) {
+            timer("morpheus.loadtest.tick", "tick").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<String, Object> newEvent(ThreadLocalRandom random) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime scheduledFor = random.nextInt(5) == 0
+                ? now.plusSeconds(1 + random.nextInt(120))
+                : now.plusMinutes(1 + random.nextInt(7 * 24 * 60));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", "Evento de carga");
+        body.put("description", "Criado pelo driver de carga");
+        body.put("type", TYPES[random.nextInt(TYPES.length)]);
+        body.put("scheduledFor", scheduledFor.toString());
+        return body;
+    }
+
+    private static HttpRequest get(String url, String authorization) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String url, String authorization, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao serializar requisição de carga", e);
+        }
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofSeconds(settings.getWarmupSeconds() + settings.getDurationSeconds() + 3600))
+                .distributionStatisticBufferLength(1)
+                .register(driverRegistry);
+    }
+
+    private void report() {
+        List<LoadTestReport.Stats> operations = driverRegistry.find("morpheus.loadtest.request").timers().stream()
+                .map(timer -> stats(timer.getId().getTag("operation"), timer, settings.getDurationSeconds()))
+                .sorted(Comparator.comparing(LoadTestReport.Stats::name))
+                .toList();
+        Timer tickTimer = driverRegistry.find("morpheus.loadtest.tick").timer();
+        LoadTestReport.Stats ticks = tickTimer == null ? null : stats("tick", tickTimer, settings.getDurationSeconds());
+        List<LoadTestReport.Stats> lag = new ArrayList<>();
+        applicationRegistry.find("morpheus.notification.lag").timers()
+                .forEach(timer -> lag.add(stats(timer.getId().getTag("type"), timer, settings.getDurationSeconds())));
+        LoadTestReport report = new LoadTestReport(settings.getClients(), settings.getDurationSeconds(), operations, ticks, lag);
+
+        operations.forEach(stat -> log.info("Carga [{}]: {} req ({}/s), {} erros, p50={} ms, p95={} ms, p99={} ms, máx={} ms",
+                stat.name(), stat.count(), format(stat.perSecond()), stat.errors(),
+                format(stat.p50Millis()), format(stat.p95Millis()), format(stat.p99Millis()), format(stat.maxMillis())));
+        if (ticks != null) {
+            log.info("Carga [tick]: {} varreduras, p99={} ms", ticks.count(), format(ticks.p99Millis()));
+        }
+        lag.forEach(stat -> log.info("Atraso de notificação [{}]: {} entregas, p50={} ms, p99={} ms",
+                stat.name(), stat.count(), format(stat.p50Millis()), format(stat.p99Millis())));
+        try {
+            Path file = Path.of(settings.getReportFile());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+            log.info("Relatório do teste de carga gravado em {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Falha ao gravar o relatório do teste de carga: {}", e.getMessage(), e);
+        }
+    }
+
+    private LoadTestReport.Stats stats(String name, Timer timer, long seconds) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double[] values = new double[PERCENTILES.length];
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                if (value.percentile() == PERCENTILES[i]) {
+                    values[i] = value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        long errorCount = errors.getOrDefault(name, new AtomicLong()).get();
+        return new LoadTestReport.Stats(name, timer.count(), errorCount, seconds > 0 ? (double) timer.count() / seconds : 0,
+                values[0], values[1], values[2], timer.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,39 @@
+package com.morpheus.loadtest;
+
+import java.util.List;
+
+/**
+ * Resultado de uma execução do {@link LoadTestDriver}, gravado em JSON para comparação entre execuções.
+ *
+ * @param clients          clientes simultâneos
+ * @param durationSeconds  duração da janela medida (sem o aquecimento)
+ * @param operations       estatísticas por operação da API
+ * @param schedulerTicks   estatísticas das varreduras do agendador disparadas pelo driver
+ * @param notificationLag  atraso entre o horário agendado e a entrega, por tipo de evento
+ */
+public record LoadTestReport(
+        int clients,
+        long durationSeconds,
+        List<Stats> operations,
+        Stats schedulerTicks,
+        List<Stats> notificationLag
+) {
+
+    /**
+     * @param name       operação (ou tipo de evento, no caso do atraso)
+     * @param count      medições na janela
+     * @param errors     falhas (status HTTP fora de 2xx ou exceção)
+     * @param perSecond  vazão média na janela
+     */
+    public record Stats(
+            String name,
+            long count,
+            long errors,
+            double perSecond,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis
+    ) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.morpheus.loadtest;
+
+import com.morpheus.config.LoadTestProperties;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.repository.EventBulkRepository;
+import com.morpheus.security.PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Popula o banco do perfil {@code loadtest} com usuários e eventos sintéticos.
+ * Os horários seguem uma distribuição próxima da real: concentrados no horário comercial,
+ * arredondados para horas cheias e meias horas, com uma parcela no passado (já notificada),
+ * uma parcela que vence durante o próprio teste (para medir o atraso do agendador) e uma
+ * fração de séries recorrentes. A geração é determinística pela semente e é ignorada
+ * se o banco já contiver os usuários sintéticos.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@Order(1)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    static final String EMAIL_PATTERN = "loadtest-%d@morpheus.local";
+
+    private static final int USER_BATCH_SIZE = 1000;
+    private static final EventType[] TYPES = {
+            EventType.REMINDER, EventType.REMINDER, EventType.REMINDER,
+            EventType.MEETING, EventType.MEETING, EventType.TASK, EventType.TASK, EventType.BIRTHDAY
+    };
+    private static final int[] HOUR_WEIGHTS = {
+            0, 0, 0, 0, 0, 0, 1, 3, 8, 10, 9, 8, 5, 6, 9, 9, 8, 7, 5, 4, 3, 2, 1, 0
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventBulkRepository eventBulkRepository;
+    private final PasswordHasher passwordHasher;
+    private final LoadTestProperties.Generate settings;
+    private final long dueWindowSeconds;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  EventBulkRepository eventBulkRepository,
+                                  PasswordHasher passwordHasher,
+                                  LoadTestProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventBulkRepository = eventBulkRepository;
+        this.passwordHasher = passwordHasher;
+        this.settings = properties.getGenerate();
+        this.dueWindowSeconds = Math.max(1, properties.getDriver().getDurationSeconds() + properties.getDriver().getWarmupSeconds());
+    }
+
+    static String email(int index) {
+        return String.format(EMAIL_PATTERN, index);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (settings.getUsers() <= 0) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'loadtest-%'", Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Banco de carga já populado com {} usuários sintéticos; geração ignorada.", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        insertUsers();
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE 'loadtest-%' ORDER BY id", Long.class);
+        Random random = new Random(settings.getSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long inserted = 0;
+        int progressStep = Math.max(1, userIds.size() / 10);
+        for (int u = 0; u < userIds.size(); u++) {
+            List<Event> events = new ArrayList<>(settings.getEventsPerUser());
+            for (int i = 0; i < settings.getEventsPerUser(); i++) {
+                events.add(syntheticEvent(random, now, i));
+            }
+            inserted += eventBulkRepository.insertBatch(userIds.get(u), events).size();
+            if ((u + 1) % progressStep == 0) {
+                log.info("Geração de carga: {} eventos inseridos.", inserted);
+            }
+        }
+        log.info("Geração de carga concluída: {} usuários e {} eventos em {} ms.", userIds.size(), inserted,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void insertUsers() {
+        String passwordHash = passwordHasher.hash(settings.getPassword());
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < settings.getUsers(); from += USER_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(USER_BATCH_SIZE);
+            for (int i = from; i < Math.min(from + USER_BATCH_SIZE, settings.getUsers()); i++) {
+                rows.add(new Object[]{"Usuário de carga " + i, email(i), passwordHash, createdAt});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password_hash, created_at) VALUES (?, ?, ?, ?)", rows);
+        }
+    }
+
+    private Event syntheticEvent(Random random, LocalDateTime now, int index) {
+        Event event = new Event();
+        event.setTitle("Evento sintético " + index);
+        event.setDescription(random.nextInt(4) == 0 ? null : "Descrição gerada para teste de carga " + index);
+        event.setType(TYPES[random.nextInt(TYPES.length)]);
+        double bucket = random.nextDouble();
+        double pastRatio = settings.getPastRatio();
+        if (bucket < pastRatio) {
+            event.setScheduledFor(businessHour(random, now.minusDays(1 + random.nextInt(settings.getHorizonDays()))));
+            event.setNotified(true);
+        } else if (bucket < pastRatio + (1 - pastRatio) * settings.getDueDuringRunRatio()) {
+            event.setScheduledFor(now.plusSeconds(1 + random.nextLong(dueWindowSeconds)));
+        } else {
+            event.setScheduledFor(businessHour(random, now.plusDays(1 + random.nextInt(settings.getHorizonDays()))));
+            if (random.nextInt(10) == 0) {
+                event.setRecurrenceRule(random.nextBoolean() ? "FREQ=WEEKLY" : "FREQ=DAILY;COUNT=30");
+                event.setSeriesStart(event.getScheduledFor());
+            }
+        }
+        event.setCreatedAt(now);
+        event.setUpdatedAt(now);
+        return event;
+    }
+
+    /**
+     * Sorteia um horário no dia informado, ponderado pelo horário comercial e arredondado
+     * como as pessoas costumam agendar: na hora cheia, na meia hora ou em quartos de hora.
+     */
+    private static LocalDateTime businessHour(Random random, LocalDateTime day) {
+        int hour = weightedHour(random);
+        int roll = random.nextInt(20);
+        int minute = roll < 10 ? 0 : roll < 15 ? 30 : roll < 18 ? 15 * (1 + 2 * random.nextInt(2)) : random.nextInt(60);
+        return day.toLocalDate().atTime(hour, minute);
+    }
+
+    private static int weightedHour(Random random) {
+        int total = 0;
+        for (int weight : HOUR_WEIGHTS) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            roll -= HOUR_WEIGHTS[hour];
+            if (roll < 0) {
+                return hour;
+            }
+        }
+        return 12;
+    }
+}
@@ -0,0 +1,60 @@
+package com.morpheus.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.morpheus.service.EventListCache;
+import com.morpheus.service.UserIdentityCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica as estatísticas dos caches Caffeine da aplicação com os mesmos nomes usados
+ * pelos binders de cache do Micrometer ({@code cache.gets}, {@code cache.evictions},
+ * {@code cache.size}), com a tag {@code cache} identificando cada um.
+ */
+@Component
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final EventListCache eventListCache;
+    private final UserIdentityCache userIdentityCache;
+
+    public CacheMetricsBinder(EventListCache eventListCache, UserIdentityCache userIdentityCache) {
+        this.eventListCache = eventListCache;
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "events", eventListCache, EventListCache::stats, EventListCache::size);
+        bind(registry, "identity", userIdentityCache, UserIdentityCache::stats, UserIdentityCache::size);
+    }
+
+    /**
+     * O Micrometer mantém apenas referências fracas ao objeto observado; por isso as funções
+     * recebem o próprio cache (um bean), e não um lambda que poderia ser coletado.
+     */
+    private static <T> void bind(MeterRegistry registry, String name, T cache,
+                                 Function<T, CacheStats> stats, ToDoubleFunction<T> size) {
+        counter(registry, "cache.gets", name, cache, c -> stats.apply(c).hitCount(), "result", "hit");
+        counter(registry, "cache.gets", name, cache, c -> stats.apply(c).missCount(), "result", "miss");
+        counter(registry, "cache.evictions", name, cache, c -> stats.apply(c).evictionCount(), null, null);
+        Gauge.builder("cache.size", cache, size)
+                .description("Quantidade estimada de entradas no cache")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String meter, String name, T cache,
+                                    ToDoubleFunction<T> value, String tagKey, String tagValue) {
+        FunctionCounter.Builder<T> builder = FunctionCounter.builder(meter, cache, value).tag("cache", name);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        builder.register(registry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.morpheus.metrics;
+
+import com.morpheus.model.enums.EventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do agendador e da entrega de notificações, publicadas via Micrometer
+ * (expostas em {@code /actuator/prometheus}). Centraliza nomes e tags para que os
+ * painéis e alertas não dependam de onde cada medição é feita.
+ */
+@Component
+public class EventMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_RECOVERABLE = "recoverable";
+    public static final String OUTCOME_FAILED = "failed";
+
+    private final MeterRegistry registry;
+
+    public EventMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Duração de uma varredura do agendador.
+     *
+     * @param startNanos valor de {@link System#nanoTime()} no início da varredura
+     */
+    public void recordTick(long startNanos, boolean success) {
+        Timer.builder("morpheus.scheduler.tick")
+                .description("Duração da varredura de eventos vencidos")
+                .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_FAILED)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Latência da reivindicação de eventos vencidos e tamanho do lote obtido.
+     *
+     * @param source     origem da consulta: {@code sweep}, {@code wheel} ou {@code catch-up}
+     * @param startNanos valor de {@link System#nanoTime()} antes da consulta
+     * @param batchSize  quantidade de eventos reivindicados
+     */
+    public void recordDueQuery(String source, long startNanos, int batchSize) {
+        Timer.builder("morpheus.scheduler.due.query")
+                .description("Latência da reivindicação de eventos vencidos")
+                .tag("source", source)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("morpheus.scheduler.batch.size")
+                .description("Eventos reivindicados por lote")
+                .tag("source", source)
+                .register(registry)
+                .record(batchSize);
+    }
+
+    /**
+     * Latência da entrega de uma notificação por um canal, da submissão à confirmação.
+     */
+    public void recordNotify(String channel, EventType type, long startNanos, String outcome) {
+        Timer.builder("morpheus.notification.notify")
+                .description("Latência de entrega por canal")
+                .tag("channel", channel)
+                .tag("type", String.valueOf(type))
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Conta o resultado de uma tentativa de entrega de uma entrada da outbox.
+     */
+    public void recordDelivery(EventType type, String outcome) {
+        Counter.builder("morpheus.outbox.deliveries")
+                .description("Tentativas de entrega da outbox por resultado")
+                .tag("type", String.valueOf(type))
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Atraso entre o horário agendado da ocorrência e a entrega efetiva da notificação.
+     */
+    public void recordDeliveryLag(EventType type, LocalDateTime occurrenceAt, LocalDateTime deliveredAt) {
+        Duration lag = Duration.between(occurrenceAt, deliveredAt);
+        Timer.builder("morpheus.notification.lag")
+                .description("Atraso entre o horário agendado e a entrega")
+                .tag("type", String.valueOf(type))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+}
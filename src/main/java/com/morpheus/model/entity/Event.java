@@ -37,6 +37,24 @@ public class Event {
     @Column(nullable = false)
     private boolean notified = false;
 
+    /**
+     * Regra RRULE da série; nula para eventos únicos. Em uma série, {@code scheduledFor}
+     * guarda a próxima ocorrência pendente e {@code occurrenceIndex} o seu índice, de modo
+     * que todas as ocorrências anteriores já foram notificadas.
+     */
+    @Column(length = 200)
+    private String recurrenceRule;
+
+    private LocalDateTime seriesStart;
+
+    @Column(nullable = false)
+    private int occurrenceIndex = 0;
+
+    @Column(length = 100)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,64 @@
+package com.morpheus.model.entity;
+
+import com.morpheus.model.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "event_outbox")
+public class EventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    /**
+     * Ocorrência notificada por esta entrada; em séries recorrentes, um evento gera uma entrada por ocorrência.
+     */
+    @Column(nullable = false)
+    private LocalDateTime occurrenceAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime deliveredAt;
+
+    /**
+     * Canais que já confirmaram a entrega, separados por vírgula. As retentativas acionam só os demais.
+     */
+    @Column(length = 255)
+    private String deliveredChannels;
+
+    public boolean isDeliveredTo(String channel) {
+        return deliveredChannels != null && Arrays.asList(deliveredChannels.split(",")).contains(channel);
+    }
+
+    public void addDeliveredChannel(String channel) {
+        if (!isDeliveredTo(channel)) {
+            deliveredChannels = deliveredChannels == null ? channel : deliveredChannels + "," + channel;
+        }
+    }
+}
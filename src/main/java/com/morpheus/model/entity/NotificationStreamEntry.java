@@ -0,0 +1,41 @@
+package com.morpheus.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificação publicada no stream SSE. O id, gerado pelo banco, é a sequência global do stream
+ * e o id SSE usado na retomada: qualquer nó entrega a mensagem às conexões que mantém e reenvia
+ * a partir dele as posteriores ao {@code Last-Event-ID} informado, não importa qual nó a publicou.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "notification_stream")
+public class NotificationStreamEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * Ids dos eventos notificados, separados por vírgula.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String eventIds;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
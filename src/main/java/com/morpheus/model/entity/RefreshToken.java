@@ -0,0 +1,66 @@
+package com.morpheus.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token opaco, no formato {@code <id>.<segredo>}. Apenas o hash SHA-256 do segredo
+ * é persistido; o id, aleatório, é a chave primária usada na busca. Como o id é atribuído,
+ * a entidade informa se é nova ({@link Persistable}) para que o {@code save} faça um
+ * {@code persist} direto, sem o SELECT do {@code merge}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "refresh_tokens")
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 32)
+    private String id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /**
+     * Cadeia de rotação à qual o token pertence; o reuso de um token já rotacionado revoga a cadeia inteira.
+     */
+    @Column(nullable = false, length = 32)
+    private String familyId;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt;
+
+    @Column(length = 32)
+    private String replacedBy;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
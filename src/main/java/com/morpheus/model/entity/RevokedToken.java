@@ -0,0 +1,35 @@
+package com.morpheus.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada da lista de revogação de access tokens. A chave é o {@code jti} de um token
+ * revogado individualmente, ou {@code user:<id>} para revogar todos os tokens do usuário
+ * emitidos antes de {@code revokedAt}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    /**
+     * Depois deste instante os tokens afetados já expiraram e a entrada pode ser descartada.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.morpheus.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "scheduler_checkpoints")
+public class SchedulerCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /**
+     * Instante até o qual todos os eventos vencidos já foram processados pelo agendador.
+     */
+    @Column(nullable = false)
+    private LocalDateTime highWaterMark;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,5 @@
+package com.morpheus.model.enums;
+
+public enum OutboxStatus {
+    PENDING, DELIVERED, FAILED
+}
@@ -0,0 +1,13 @@
+package com.morpheus.model.enums;
+
+/**
+ * Tratamento dos eventos muito atrasados encontrados pela recuperação de backlog.
+ */
+public enum StaleEventPolicy {
+    /** Notifica normalmente, como se o evento tivesse vencido agora. */
+    DELIVER,
+    /** Notifica agrupando os atrasados do mesmo usuário e tipo em resumos. */
+    DIGEST,
+    /** Descarta a notificação, apenas marcando o evento como notificado. */
+    DROP
+}
@@ -0,0 +1,22 @@
+package com.morpheus.notification;
+
+/**
+ * Limites declarados por um canal de notificação.
+ *
+ * @param batchSize         máximo de mensagens por chamada a {@link NotificationChannel#send}
+ * @param maxConcurrency    máximo de chamadas simultâneas ao canal
+ * @param permitsPerSecond  taxa sustentada de mensagens por segundo (token bucket)
+ * @param burst             capacidade do token bucket
+ */
+public record ChannelLimits(
+        int batchSize,
+        int maxConcurrency,
+        double permitsPerSecond,
+        int burst
+) {
+    public ChannelLimits {
+        if (batchSize <= 0 || maxConcurrency <= 0 || permitsPerSecond <= 0 || burst < batchSize) {
+            throw new IllegalArgumentException("Limites inválidos para o canal de notificação.");
+        }
+    }
+}
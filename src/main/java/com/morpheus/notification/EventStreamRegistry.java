@@ -0,0 +1,450 @@
+package com.morpheus.notification;
+
+import com.morpheus.model.entity.NotificationStreamEntry;
+import com.morpheus.repository.NotificationStreamRepository;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Registro das conexões SSE de {@code GET /events/stream}, por usuário (e-mail).
+ * <p>
+ * As notificações publicadas são gravadas na tabela {@code notification_stream}, cujo id
+ * autoincremento é a sequência global do stream. Cada nó lê periodicamente as mensagens novas a
+ * partir do seu cursor e as enfileira nas conexões que mantém, de modo que o cliente recebe a
+ * notificação qualquer que seja o nó que a entregou pela outbox; o nó que publica lê logo em
+ * seguida, sem esperar o intervalo. Como transações concorrentes podem confirmar ids fora de ordem,
+ * ids saltados pelo cursor são consultados de novo por {@code GAP_RETRY_MILLIS} antes de serem dados
+ * como descartados.
+ * <p>
+ * Uma fila limitada por conexão isola clientes lentos: quando enche, a conexão é encerrada e o
+ * cliente reconecta, em qualquer nó, retomando do último id recebido ({@code Last-Event-ID}), com
+ * até {@code replay-size} mensagens reenviadas a partir da tabela. As mensagens ficam retidas por
+ * {@code replay-ttl-minutes}; se o id informado for anterior ao que ainda está retido (ou houver
+ * mais mensagens perdidas que {@code replay-size}), o cliente recebe o evento {@code reset} e deve
+ * recarregar a lista de eventos uma vez. As conexões recebem um comentário de heartbeat periódico,
+ * que mantém proxies abertos e detecta conexões mortas.
+ */
+@Slf4j
+@Component
+public class EventStreamRegistry {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String RESET_EVENT = "reset";
+
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final long GAP_RETRY_MILLIS = 10_000;
+    private static final int MAX_PENDING_GAPS = 1_000;
+
+    private final NotificationStreamRepository notificationStreamRepository;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long replayTtlMinutes;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Object streamLock = new Object();
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter evicted;
+    private final Counter skippedGaps;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean pollRequested = new AtomicBoolean(false);
+    private long cursor;
+
+    public EventStreamRegistry(MeterRegistry registry,
+                               NotificationStreamRepository notificationStreamRepository,
+                               @Value("${morpheus.notification.sse.buffer-size:64}") int bufferSize,
+                               @Value("${morpheus.notification.sse.replay-size:100}") int replaySize,
+                               @Value("${morpheus.notification.sse.replay-ttl-minutes:10}") long replayTtlMinutes,
+                               @Value("${morpheus.notification.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                               @Value("${morpheus.notification.sse.heartbeat-seconds:15}") long heartbeatSeconds,
+                               @Value("${morpheus.notification.sse.poll-millis:500}") long pollMillis,
+                               @Value("${morpheus.notification.sse.timeout-minutes:30}") long timeoutMinutes,
+                               @Value("${morpheus.notification.sse.reconnect-millis:3000}") long reconnectMillis,
+                               @Value("${morpheus.notification.sse.writer-threads:4}") int writerThreads) {
+        if (bufferSize <= 0 || replaySize < 0 || replayTtlMinutes <= 0 || maxConnectionsPerUser <= 0
+                || heartbeatSeconds <= 0 || pollMillis <= 0 || writerThreads <= 0) {
+            throw new IllegalArgumentException("Configuração inválida para o stream de notificações.");
+        }
+        this.notificationStreamRepository = notificationStreamRepository;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.replayTtlMinutes = replayTtlMinutes;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.reconnectMillis = reconnectMillis;
+        Long maxId = notificationStreamRepository.findMaxId();
+        this.cursor = maxId != null ? maxId : 0L;
+        this.evicted = Counter.builder("morpheus.sse.evicted")
+                .description("Conexões SSE encerradas por fila cheia (cliente lento)")
+                .register(registry);
+        this.skippedGaps = Counter.builder("morpheus.sse.gaps.skipped")
+                .description("Ids do stream saltados pelo cursor e nunca confirmados (transações desfeitas)")
+                .register(registry);
+        Gauge.builder("morpheus.sse.connections", this, EventStreamRegistry::connectionCount)
+                .description("Conexões SSE abertas")
+                .register(registry);
+        this.writers = Executors.newFixedThreadPool(writerThreads, namedThreads("morpheus-sse-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("morpheus-sse-poller-"));
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre uma conexão para o usuário, reenviando as mensagens posteriores a {@code lastEventId}.
+     * Ao exceder o limite de conexões do usuário, a mais antiga é encerrada.
+     *
+     * @param recipient   e-mail do usuário
+     * @param lastEventId último id recebido pelo cliente, ou {@code null} em uma conexão nova
+     * @return emitter a ser devolvido pelo controller
+     */
+    public SseEmitter subscribe(String recipient, Long lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscription subscription;
+        List<Subscription> userSubscriptions;
+        synchronized (streamLock) {
+            Replay replay = lastEventId == null ? Replay.NONE : replay(recipient, lastEventId);
+            subscription = new Subscription(recipient, emitter, bufferSize + replay.messages().size() + 2,
+                    lastEventId == null || replay.reset() ? cursor : lastEventId);
+            subscription.offer(SseEmitter.event().reconnectTime(reconnectMillis).comment("conectado"));
+            if (replay.reset()) {
+                subscription.offer(SseEmitter.event().name(RESET_EVENT).data(""));
+            }
+            replay.messages().forEach(message -> subscription.offer(toEvent(message)));
+            userSubscriptions = subscriptions.compute(recipient, (key, current) -> {
+                List<Subscription> updated = current != null ? current : new CopyOnWriteArrayList<>();
+                updated.add(subscription);
+                return updated;
+            });
+            connections.incrementAndGet();
+        }
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        while (userSubscriptions.size() > maxConnectionsPerUser) {
+            userSubscriptions.get(0).close();
+        }
+        return emitter;
+    }
+
+    /**
+     * Grava as notificações no stream e antecipa a leitura deste nó. As conexões dos outros nós as
+     * recebem na leitura periódica de cada um.
+     */
+    public void publish(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        notificationStreamRepository.saveAll(notifications.stream().map(notification -> {
+            NotificationStreamEntry entry = new NotificationStreamEntry();
+            entry.setRecipient(notification.recipient());
+            entry.setSubject(notification.subject());
+            entry.setBody(notification.body());
+            entry.setEventIds(notification.eventIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+            entry.setCreatedAt(now);
+            return entry;
+        }).toList());
+        requestPoll();
+    }
+
+    /**
+     * Remove do stream as mensagens mais antigas que o período de retomada.
+     */
+    @Scheduled(fixedDelayString = "${morpheus.notification.sse.purge-millis:60000}")
+    public void purgeExpired() {
+        int purged = notificationStreamRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(replayTtlMinutes));
+        log.debug("Mensagens expiradas removidas do stream de notificações: {}", purged);
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Cria o emitter de cada conexão; sobrescrito nos testes para capturar os eventos enviados.
+     */
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void requestPoll() {
+        if (pollRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::poll);
+            } catch (RejectedExecutionException e) {
+                pollRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Lê as mensagens posteriores ao cursor e as dos ids ainda pendentes e as entrega às conexões
+     * locais. Executa sempre na thread do agendador, uma leitura por vez.
+     */
+    private void poll() {
+        pollRequested.set(false);
+        try {
+            List<NotificationStreamEntry> rows;
+            do {
+                rows = notificationStreamRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(POLL_BATCH_SIZE));
+                List<NotificationStreamEntry> late = pendingGaps();
+                synchronized (streamLock) {
+                    late.forEach(row -> deliver(toMessage(row)));
+                    for (NotificationStreamEntry row : rows) {
+                        recordGaps(row.getId());
+                        cursor = row.getId();
+                        deliver(toMessage(row));
+                    }
+                }
+            } while (rows.size() == POLL_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("Erro ao ler o stream de notificações: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Relê os ids saltados pelo cursor. Os que aparecem são entregues fora de ordem; os que não
+     * aparecem dentro de {@code GAP_RETRY_MILLIS} pertenciam a transações desfeitas.
+     */
+    private List<NotificationStreamEntry> pendingGaps() {
+        List<Long> ids;
+        synchronized (streamLock) {
+            long expiredBefore = System.currentTimeMillis() - GAP_RETRY_MILLIS;
+            gaps.values().removeIf(since -> {
+                boolean expired = since < expiredBefore;
+                if (expired) {
+                    skippedGaps.increment();
+                }
+                return expired;
+            });
+            ids = new ArrayList<>(gaps.keySet());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<NotificationStreamEntry> found = notificationStreamRepository.findByIdInOrderByIdAsc(ids);
+        synchronized (streamLock) {
+            found.forEach(row -> gaps.remove(row.getId()));
+        }
+        return found;
+    }
+
+    private void recordGaps(long id) {
+        long now = System.currentTimeMillis();
+        for (long missing = Math.max(cursor + 1, id - MAX_PENDING_GAPS); missing < id; missing++) {
+            gaps.putIfAbsent(missing, now);
+        }
+        while (gaps.size() > MAX_PENDING_GAPS) {
+            gaps.remove(gaps.keySet().iterator().next());
+            skippedGaps.increment();
+        }
+    }
+
+    /**
+     * Enfileira a mensagem nas conexões locais do destinatário. Deve ser chamado com {@code streamLock}.
+     */
+    private void deliver(StreamMessage message) {
+        List<Subscription> slow = new ArrayList<>();
+        for (Subscription subscription : subscriptions.getOrDefault(message.recipient(), List.of())) {
+            if (message.id() > subscription.resumeAfter && !subscription.offer(toEvent(message))) {
+                slow.add(subscription);
+            }
+        }
+        slow.forEach(subscription -> {
+            evicted.increment();
+            log.debug("Conexão SSE de [{}] encerrada por fila cheia.", message.recipient());
+            subscription.close();
+        });
+    }
+
+    /**
+     * Mensagens do destinatário posteriores a {@code lastEventId} já lidas pelo cursor deste nó; as
+     * seguintes chegam pela leitura periódica. Deve ser chamado com {@code streamLock}.
+     */
+    private Replay replay(String recipient, long lastEventId) {
+        Long maxId = notificationStreamRepository.findMaxId();
+        if (lastEventId > Math.max(cursor, maxId != null ? maxId : 0L)) {
+            return new Replay(List.of(), true);
+        }
+        Long minId = notificationStreamRepository.findMinId();
+        boolean purged = lastEventId < (minId != null ? minId - 1 : cursor);
+        List<NotificationStreamEntry> rows = new ArrayList<>(notificationStreamRepository
+                .findByRecipientAndIdGreaterThanOrderByIdDesc(recipient, lastEventId, Limit.of(replaySize + 1)));
+        boolean overflow = rows.size() > replaySize;
+        if (overflow) {
+            rows.remove(rows.size() - 1);
+        }
+        Collections.reverse(rows);
+        List<StreamMessage> messages = rows.stream()
+                .filter(row -> row.getId() <= cursor)
+                .map(EventStreamRegistry::toMessage)
+                .toList();
+        return new Replay(messages, purged || overflow);
+    }
+
+    private void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> {
+            if (!subscription.offer(SseEmitter.event().comment("heartbeat"))) {
+                evicted.increment();
+                subscription.close();
+            }
+        }));
+    }
+
+    private static StreamMessage toMessage(NotificationStreamEntry row) {
+        List<Long> eventIds = row.getEventIds().isEmpty() ? List.of() : Arrays.stream(row.getEventIds().split(","))
+                .map(Long::valueOf)
+                .toList();
+        return new StreamMessage(row.getId(), row.getRecipient(), row.getSubject(), row.getBody(), eventIds);
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(StreamMessage message) {
+        return SseEmitter.event()
+                .id(String.valueOf(message.id()))
+                .name(NOTIFICATION_EVENT)
+                .data(message, MediaType.APPLICATION_JSON);
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.recipient, (key, userSubscriptions) -> {
+            if (userSubscriptions.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(Subscription::close));
+        writers.shutdown();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Mensagem enviada no evento {@code notification}; o {@code id} é também o id SSE usado na retomada.
+     */
+    public record StreamMessage(long id, @JsonIgnore String recipient, String subject, String body, List<Long> eventIds) {
+    }
+
+    /**
+     * Mensagens reenviadas na retomada e se o cliente deve recarregar a lista por ter perdido alguma.
+     */
+    private record Replay(List<StreamMessage> messages, boolean reset) {
+
+        private static final Replay NONE = new Replay(List.of(), false);
+    }
+
+    /**
+     * Conexão aberta com fila própria; um único escritor por vez a drena, preservando a ordem dos eventos.
+     */
+    private final class Subscription {
+
+        private final String recipient;
+        /**
+         * Mensagens com id até este já foram recebidas pelo cliente (possivelmente por outro nó).
+         */
+        private final long resumeAfter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Subscription(String recipient, SseEmitter emitter, int capacity, long resumeAfter) {
+            this.recipient = recipient;
+            this.resumeAfter = resumeAfter;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return true;
+            }
+            if (!queue.offer(event)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = queue.poll();
+                if (event == null) {
+                    draining.set(false);
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Conexão SSE de [{}] encerrada: {}", recipient, e.getMessage());
+                    close();
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    log.debug("Emitter SSE já encerrado para [{}].", recipient);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.morpheus.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Canal local que apenas registra as mensagens em log e mantém as últimas entregues em
+ * memória. Útil em desenvolvimento e testes; desativado por padrão e ativo no perfil {@code loadtest}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "morpheus.notification.loopback.enabled", havingValue = "true")
+public class LoopbackNotificationChannel implements NotificationChannel {
+
+    private final ChannelLimits limits;
+    private final int retained;
+    private final Deque<Notification> delivered = new ArrayDeque<>();
+
+    public LoopbackNotificationChannel(@Value("${morpheus.notification.loopback.batch-size:100}") int batchSize,
+                                       @Value("${morpheus.notification.loopback.max-concurrency:2}") int maxConcurrency,
+                                       @Value("${morpheus.notification.loopback.rate-per-second:1000}") double permitsPerSecond,
+                                       @Value("${morpheus.notification.loopback.burst:1000}") int burst,
+                                       @Value("${morpheus.notification.loopback.retained:1000}") int retained) {
+        this.limits = new ChannelLimits(batchSize, maxConcurrency, permitsPerSecond, burst);
+        this.retained = retained;
+    }
+
+    @Override
+    public String name() {
+        return "loopback";
+    }
+
+    @Override
+    public ChannelLimits limits() {
+        return limits;
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        synchronized (delivered) {
+            for (Notification notification : batch) {
+                log.info("Notificando [{}] para usuário [{}]", notification.subject(), notification.recipient());
+                delivered.addLast(notification);
+                if (delivered.size() > retained) {
+                    delivered.removeFirst();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return cópia das últimas mensagens entregues, da mais antiga para a mais recente
+     */
+    public List<Notification> delivered() {
+        synchronized (delivered) {
+            return List.copyOf(delivered);
+        }
+    }
+
+    public void clear() {
+        synchronized (delivered) {
+            delivered.clear();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.morpheus.notification;
+
+import java.util.List;
+
+/**
+ * Mensagem pronta para entrega por um {@link NotificationChannel}.
+ *
+ * @param recipient e-mail do destinatário
+ * @param subject   assunto
+ * @param body      corpo em texto simples
+ * @param eventIds  eventos cobertos pela mensagem (um, ou vários em um resumo)
+ */
+public record Notification(
+        String recipient,
+        String subject,
+        String body,
+        List<Long> eventIds
+) {
+}
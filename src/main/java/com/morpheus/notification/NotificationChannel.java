@@ -0,0 +1,27 @@
+package com.morpheus.notification;
+
+import java.util.List;
+
+/**
+ * SPI dos canais de entrega de notificações (SMTP, webhook, push...). Cada implementação
+ * registrada como bean é usada pelo {@code EventNotificationService}, que agrupa as
+ * mensagens em lotes respeitando os {@link ChannelLimits} do canal.
+ */
+public interface NotificationChannel {
+
+    /**
+     * @return nome do canal, usado em logs e nos nomes das threads
+     */
+    String name();
+
+    ChannelLimits limits();
+
+    /**
+     * Entrega um lote de mensagens. O lote é tratado como uma unidade: deve lançar
+     * {@link com.morpheus.exception.RecoverableEventException} para falhas transitórias
+     * (o lote será reenviado com backoff) e qualquer outra exceção para falhas definitivas.
+     *
+     * @param batch mensagens, no máximo {@link ChannelLimits#batchSize()}
+     */
+    void send(List<Notification> batch);
+}
@@ -0,0 +1,116 @@
+package com.morpheus.notification;
+
+import com.morpheus.exception.RecoverableEventException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estágio de entrega de um único canal. As mensagens submetidas entram em uma fila
+ * limitada e são drenadas por até {@link ChannelLimits#maxConcurrency()} remetentes, que
+ * agrupam o que estiver na fila em lotes de até {@link ChannelLimits#batchSize()} e
+ * respeitam o token bucket do canal. Com a fila cheia, a submissão falha como erro
+ * recuperável, de modo que um provedor lento aplica contrapressão sem travar os demais canais.
+ */
+@Slf4j
+public class NotificationChannelDispatcher {
+
+    private final NotificationChannel channel;
+    private final ChannelLimits limits;
+    private final TokenBucket tokenBucket;
+    private final BlockingQueue<Pending> queue;
+    private final long offerTimeoutMillis;
+    private final ExecutorService senders;
+    private volatile boolean running = true;
+
+    public NotificationChannelDispatcher(NotificationChannel channel, int queueCapacity, long offerTimeoutMillis) {
+        this.channel = channel;
+        this.limits = channel.limits();
+        this.tokenBucket = new TokenBucket(limits.permitsPerSecond(), limits.burst());
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(limits.maxConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "morpheus-channel-" + channel.name() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < limits.maxConcurrency(); i++) {
+            senders.execute(this::sendLoop);
+        }
+    }
+
+    public String getChannelName() {
+        return channel.name();
+    }
+
+    /**
+     * Enfileira a mensagem para o próximo lote do canal.
+     *
+     * @return futuro concluído quando o lote que contém a mensagem for entregue
+     */
+    public CompletableFuture<Void> submit(Notification notification) {
+        Pending pending = new Pending(notification, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                pending.result().completeExceptionally(
+                        new RecoverableEventException("Fila do canal " + channel.name() + " cheia."));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result().completeExceptionally(new RecoverableEventException("Submissão interrompida."));
+        }
+        return pending.result();
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    private void sendLoop() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(limits.batchSize());
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, limits.batchSize() - 1);
+                tokenBucket.acquire(batch.size());
+                channel.send(batch.stream().map(Pending::notification).toList());
+                batch.forEach(pending -> pending.result().complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, new RecoverableEventException("Canal " + channel.name() + " encerrado."));
+                return;
+            } catch (Exception e) {
+                log.warn("Falha ao entregar lote de {} mensagens pelo canal [{}]: {}", batch.size(), channel.name(), e.getMessage());
+                failAll(batch, e);
+            }
+        }
+    }
+
+    private static void failAll(List<Pending> batch, Exception cause) {
+        batch.forEach(pending -> pending.result().completeExceptionally(cause));
+    }
+
+    public void shutdown() {
+        running = false;
+        senders.shutdownNow();
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, new RecoverableEventException("Canal " + channel.name() + " encerrado."));
+    }
+
+    private record Pending(Notification notification, CompletableFuture<Void> result) {
+    }
+}
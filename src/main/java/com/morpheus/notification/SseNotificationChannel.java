@@ -0,0 +1,45 @@
+package com.morpheus.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Canal que publica as notificações nas conexões SSE abertas pelos destinatários em
+ * {@code GET /events/stream}, em qualquer nó. A publicação grava o lote no stream compartilhado
+ * (ver {@link EventStreamRegistry}), sem esperar pela escrita nas conexões; a mensagem fica retida
+ * para a retomada mesmo que o destinatário não esteja conectado. Ativo por padrão.
+ */
+@Component
+@ConditionalOnProperty(name = "morpheus.notification.sse.enabled", havingValue = "true", matchIfMissing = true)
+public class SseNotificationChannel implements NotificationChannel {
+
+    private final EventStreamRegistry eventStreamRegistry;
+    private final ChannelLimits limits;
+
+    public SseNotificationChannel(EventStreamRegistry eventStreamRegistry,
+                                  @Value("${morpheus.notification.sse.batch-size:100}") int batchSize,
+                                  @Value("${morpheus.notification.sse.max-concurrency:2}") int maxConcurrency,
+                                  @Value("${morpheus.notification.sse.rate-per-second:5000}") double permitsPerSecond,
+                                  @Value("${morpheus.notification.sse.burst:5000}") int burst) {
+        this.eventStreamRegistry = eventStreamRegistry;
+        this.limits = new ChannelLimits(batchSize, maxConcurrency, permitsPerSecond, burst);
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public ChannelLimits limits() {
+        return limits;
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        eventStreamRegistry.publish(batch);
+    }
+}
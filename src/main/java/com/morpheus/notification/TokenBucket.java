@@ -0,0 +1,66 @@
+package com.morpheus.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket para limitar a taxa de mensagens de um canal ou de outro fluxo em lotes.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int capacity, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Taxa e capacidade do token bucket devem ser positivas.");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.available = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Tenta consumir {@code permits} fichas sem bloquear.
+     *
+     * @return {@code 0} se as fichas foram consumidas, ou os nanossegundos a esperar até haver fichas suficientes
+     */
+    public synchronized long tryAcquire(int permits) {
+        if (permits > capacity) {
+            throw new IllegalArgumentException("Quantidade de fichas acima da capacidade do token bucket.");
+        }
+        refill();
+        if (available >= permits) {
+            available -= permits;
+            return 0;
+        }
+        return (long) Math.ceil((permits - available) / permitsPerNano);
+    }
+
+    /**
+     * Consome {@code permits} fichas, aguardando o reabastecimento se necessário.
+     *
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire(permits)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
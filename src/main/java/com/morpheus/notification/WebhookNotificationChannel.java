@@ -0,0 +1,88 @@
+package com.morpheus.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.morpheus.exception.RecoverableEventException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Canal que publica cada lote como um array JSON em um webhook via HTTP/2. Um único
+ * {@link HttpClient} é compartilhado, de modo que requisições simultâneas são multiplexadas
+ * na mesma conexão. Respostas 429 e 5xx, e erros de I/O, são tratados como recuperáveis.
+ */
+@Component
+@ConditionalOnProperty(name = "morpheus.notification.webhook.url")
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    private final URI url;
+    private final ChannelLimits limits;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookNotificationChannel(ObjectMapper objectMapper,
+                                      @Value("${morpheus.notification.webhook.url}") String url,
+                                      @Value("${morpheus.notification.webhook.batch-size:50}") int batchSize,
+                                      @Value("${morpheus.notification.webhook.max-concurrency:8}") int maxConcurrency,
+                                      @Value("${morpheus.notification.webhook.rate-per-second:50}") double permitsPerSecond,
+                                      @Value("${morpheus.notification.webhook.burst:100}") int burst,
+                                      @Value("${morpheus.notification.webhook.timeout-millis:5000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.limits = new ChannelLimits(batchSize, maxConcurrency, permitsPerSecond, burst);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public ChannelLimits limits() {
+        return limits;
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar lote de notificações", e);
+        }
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new RecoverableEventException("Falha de comunicação com o webhook: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecoverableEventException("Envio ao webhook interrompido.");
+        }
+        int status = response.statusCode();
+        if (status == 429 || status >= 500) {
+            throw new RecoverableEventException("Webhook respondeu " + status);
+        } else if (status >= 300) {
+            throw new IllegalStateException("Webhook rejeitou o lote com status " + status);
+        }
+    }
+}
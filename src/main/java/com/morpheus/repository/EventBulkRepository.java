@@ -0,0 +1,69 @@
+package com.morpheus.repository;
+
+import com.morpheus.model.entity.Event;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserção de eventos em lote via JDBC. O {@code Event} usa {@code GenerationType.IDENTITY},
+ * o que impede o Hibernate de agrupar INSERTs; aqui cada lote é enviado com um único
+ * {@code executeBatch}, que o driver do MySQL reescreve em um INSERT multi-valores quando
+ * {@code rewriteBatchedStatements=true} está na URL de conexão.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventBulkRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO events (user_id, title, description, type, scheduled_for, recurrence_rule, series_start,
+                                occurrence_index, notified, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os eventos do usuário em um único lote JDBC, participando da transação corrente.
+     *
+     * @param userId dono dos eventos
+     * @param events eventos a inserir, já validados e ainda sem id
+     * @return ids gerados, na ordem dos eventos informados
+     */
+    public List<Long> insertBatch(Long userId, List<Event> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS), (PreparedStatement statement) -> {
+            for (Event event : events) {
+                statement.setLong(1, userId);
+                statement.setString(2, event.getTitle());
+                statement.setString(3, event.getDescription());
+                statement.setString(4, event.getType().name());
+                statement.setTimestamp(5, Timestamp.valueOf(event.getScheduledFor()));
+                statement.setString(6, event.getRecurrenceRule());
+                statement.setTimestamp(7, event.getSeriesStart() == null ? null : Timestamp.valueOf(event.getSeriesStart()));
+                statement.setInt(8, event.getOccurrenceIndex());
+                statement.setBoolean(9, event.isNotified());
+                statement.setTimestamp(10, Timestamp.valueOf(event.getCreatedAt()));
+                statement.setTimestamp(11, Timestamp.valueOf(event.getUpdatedAt()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            List<Long> ids = new ArrayList<>(events.size());
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            return ids;
+        });
+    }
+}
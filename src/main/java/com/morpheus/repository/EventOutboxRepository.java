@@ -0,0 +1,86 @@
+package com.morpheus.repository;
+
+import com.morpheus.model.entity.EventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventOutboxRepository extends JpaRepository<EventOutbox, Long> {
+
+    /**
+     * Bloqueia entradas pendentes cuja próxima tentativa já venceu, ignorando as
+     * bloqueadas por outros workers ({@code SKIP LOCKED}). Deve ser chamado dentro de uma transação.
+     */
+    @Query(value = """
+            SELECT id FROM event_outbox
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockDeliverableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Adia a próxima tentativa das entradas, funcionando como lease enquanto o worker as entrega.
+     */
+    @Modifying
+    @Query("UPDATE EventOutbox o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Carrega as entradas informadas com o evento e o usuário, prontas para entrega.
+     */
+    @Query("SELECT o FROM EventOutbox o JOIN FETCH o.event e JOIN FETCH e.user WHERE o.id IN :ids ORDER BY o.id")
+    List<EventOutbox> findWithEventByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE EventOutbox o
+            SET o.status = com.morpheus.model.enums.OutboxStatus.DELIVERED,
+                o.attempts = o.attempts + 1,
+                o.deliveredAt = :deliveredAt,
+                o.lastError = null
+            WHERE o.id IN :ids
+            """)
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    /**
+     * Registra uma falha recuperável, guarda os canais que já confirmaram a entrega e reagenda a próxima tentativa.
+     */
+    @Modifying
+    @Query("""
+            UPDATE EventOutbox o
+            SET o.attempts = o.attempts + 1,
+                o.lastError = :lastError,
+                o.deliveredChannels = :deliveredChannels,
+                o.nextAttemptAt = :nextAttemptAt
+            WHERE o.id IN :ids
+            """)
+    int markRetry(@Param("ids") Collection<Long> ids,
+                  @Param("lastError") String lastError,
+                  @Param("deliveredChannels") String deliveredChannels,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Registra uma falha definitiva; as entradas deixam de ser reivindicadas.
+     */
+    @Modifying
+    @Query("""
+            UPDATE EventOutbox o
+            SET o.status = com.morpheus.model.enums.OutboxStatus.FAILED,
+                o.attempts = o.attempts + 1,
+                o.lastError = :lastError
+            WHERE o.id IN :ids
+            """)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM EventOutbox o WHERE o.status = com.morpheus.model.enums.OutboxStatus.DELIVERED AND o.deliveredAt < :cutoff")
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,20 +1,101 @@
 package com.morpheus.repository;
 
+import com.morpheus.dto.EventResponse;
 import com.morpheus.model.entity.Event;
 import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findByUser(User user);
 
+    List<Event> findByUserId(Long userId);
+
     List<Event> findByUserAndScheduledForBetween(User user, LocalDateTime start, LocalDateTime end);
 
     List<Event> findByScheduledForBetween(LocalDateTime start, LocalDateTime end);
 
+    String USER_EVENTS_PAGE_WHERE = """
+             FROM Event e
+            WHERE e.user.id = :userId
+              AND (:from IS NULL OR e.scheduledFor >= :from)
+              AND (:to IS NULL OR e.scheduledFor <= :to)
+              AND (:type IS NULL OR e.type = :type)
+              AND (:notified IS NULL OR e.notified = :notified)
+              AND (:afterScheduledFor IS NULL
+                   OR e.scheduledFor > :afterScheduledFor
+                   OR (e.scheduledFor = :afterScheduledFor AND e.id > :afterId))
+            ORDER BY e.scheduledFor, e.id
+            """;
+
+    /**
+     * Lista os eventos do usuário projetados diretamente em {@link EventResponse},
+     * sem hidratar entidades nem carregar o proxy do usuário.
+     */
+    @Query("""
+            SELECT new com.morpheus.dto.EventResponse(e.id, e.title, e.description, e.type, e.scheduledFor, e.notified, e.recurrenceRule)
+            FROM Event e
+            WHERE e.user.id = :userId
+            ORDER BY e.scheduledFor, e.id
+            """)
+    List<EventResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Busca a próxima página de eventos do usuário que atendem aos filtros informados
+     * (parâmetros nulos não restringem), posicionada após o cursor ({@code afterScheduledFor},
+     * {@code afterId}). Percorre o índice {@code idx_events_user_schedule} sem OFFSET e
+     * projeta cada linha diretamente em {@link EventResponse}.
+     */
+    @Query("SELECT new com.morpheus.dto.EventResponse(e.id, e.title, e.description, e.type, e.scheduledFor, e.notified, e.recurrenceRule)"
+            + USER_EVENTS_PAGE_WHERE)
+    List<EventResponse> findUserEventsPage(@Param("userId") Long userId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("type") EventType type,
+                                           @Param("notified") Boolean notified,
+                                           @Param("afterScheduledFor") LocalDateTime afterScheduledFor,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    /**
+     * Mesma página de {@link #findUserEventsPage}, sem ler a coluna {@code description}.
+     */
+    @Query("SELECT new com.morpheus.dto.EventResponse(e.id, e.title, e.type, e.scheduledFor, e.notified, e.recurrenceRule)"
+            + USER_EVENTS_PAGE_WHERE)
+    List<EventResponse> findUserEventSummariesPage(@Param("userId") Long userId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("type") EventType type,
+                                                   @Param("notified") Boolean notified,
+                                                   @Param("afterScheduledFor") LocalDateTime afterScheduledFor,
+                                                   @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    /**
+     * Busca os eventos do usuário que podem ter ocorrências na janela: eventos únicos
+     * agendados dentro dela e séries recorrentes iniciadas até o fim da janela.
+     */
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.user.id = :userId
+              AND ((e.recurrenceRule IS NULL AND e.scheduledFor BETWEEN :from AND :to)
+                   OR (e.recurrenceRule IS NOT NULL AND e.seriesStart <= :to))
+            ORDER BY e.scheduledFor, e.id
+            """)
+    List<Event> findOccurrenceCandidates(@Param("userId") Long userId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
     List<Event> findByNotifiedFalseAndScheduledForBefore(LocalDateTime time);
 
     /**
@@ -23,4 +104,97 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      * reinícios ou períodos de inatividade.
      */
     List<Event> findByNotifiedFalseAndScheduledForBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Carrega os eventos informados que estão reivindicados pelo nó, já com o usuário.
+     */
+    @EntityGraph(attributePaths = "user")
+    List<Event> findByIdInAndClaimedBy(Collection<Long> ids, String claimedBy);
+
+    /**
+     * Busca a próxima página de eventos não notificados agendados até {@code end},
+     * posicionada após o cursor ({@code afterScheduledFor}, {@code afterId}).
+     * A paginação por chave percorre o índice {@code idx_events_pending} sem OFFSET,
+     * mantendo o custo de cada página proporcional ao seu tamanho.
+     */
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.notified = false
+              AND e.scheduledFor <= :end
+              AND (e.scheduledFor > :afterScheduledFor
+                   OR (e.scheduledFor = :afterScheduledFor AND e.id > :afterId))
+            ORDER BY e.scheduledFor, e.id
+            """)
+    List<Event> findNextPendingPage(@Param("afterScheduledFor") LocalDateTime afterScheduledFor,
+                                    @Param("afterId") Long afterId,
+                                    @Param("end") LocalDateTime end,
+                                    Limit limit);
+
+    /**
+     * Horário do evento não notificado mais antigo agendado entre {@code start} e {@code end},
+     * ou {@code null} se não houver. Inclui eventos bloqueados ou reivindicados por outros nós.
+     */
+    @Query("SELECT MIN(e.scheduledFor) FROM Event e WHERE e.notified = false AND e.scheduledFor BETWEEN :start AND :end")
+    LocalDateTime findOldestPendingScheduledFor(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Bloqueia ids de eventos vencidos e sem reivindicação ativa, ignorando linhas já
+     * bloqueadas por outros nós ({@code SKIP LOCKED}). Deve ser chamado dentro de uma transação.
+     */
+    @Query(value = """
+            SELECT id FROM events
+            WHERE notified = false
+              AND scheduled_for BETWEEN :start AND :end
+              AND (claimed_until IS NULL OR claimed_until < :now)
+            ORDER BY scheduled_for, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockClaimableIds(@Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+
+    /**
+     * Bloqueia, entre os ids informados, os eventos vencidos e sem reivindicação ativa.
+     * Deve ser chamado dentro de uma transação.
+     */
+    @Query(value = """
+            SELECT id FROM events
+            WHERE id IN (:ids)
+              AND notified = false
+              AND scheduled_for <= :now
+              AND (claimed_until IS NULL OR claimed_until < :now)
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockClaimableIdsIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.claimedBy = :claimedBy, e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int updateClaim(@Param("ids") Collection<Long> ids,
+                    @Param("claimedBy") String claimedBy,
+                    @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Marca os eventos como notificados e libera suas leases em um único UPDATE.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.notified = true, e.claimedBy = null, e.claimedUntil = null WHERE e.id IN :ids")
+    int markNotified(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Avança a série para a próxima ocorrência pendente e libera a lease.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Event e
+            SET e.scheduledFor = :nextScheduledFor,
+                e.occurrenceIndex = :nextIndex,
+                e.claimedBy = null,
+                e.claimedUntil = null
+            WHERE e.id = :id
+            """)
+    int advanceOccurrence(@Param("id") Long id,
+                          @Param("nextScheduledFor") LocalDateTime nextScheduledFor,
+                          @Param("nextIndex") int nextIndex);
 }
@@ -0,0 +1,42 @@
+package com.morpheus.repository;
+
+import com.morpheus.model.entity.NotificationStreamEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationStreamRepository extends JpaRepository<NotificationStreamEntry, Long> {
+
+    /**
+     * Próximas mensagens do stream, de todos os destinatários, lidas por cada nó a partir do seu cursor.
+     */
+    List<NotificationStreamEntry> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Mensagens de ids que o cursor já ultrapassou mas ainda não estavam visíveis (transações concorrentes).
+     */
+    List<NotificationStreamEntry> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Mensagens mais recentes do destinatário posteriores a {@code id}, da mais nova para a mais antiga.
+     */
+    List<NotificationStreamEntry> findByRecipientAndIdGreaterThanOrderByIdDesc(String recipient, long id, Limit limit);
+
+    @Query("SELECT MIN(e.id) FROM NotificationStreamEntry e")
+    Long findMinId();
+
+    @Query("SELECT MAX(e.id) FROM NotificationStreamEntry e")
+    Long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationStreamEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
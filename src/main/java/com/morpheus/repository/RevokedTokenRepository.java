@@ -0,0 +1,35 @@
+package com.morpheus.repository;
+
+import com.morpheus.model.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Grava a revogação em um único comando, sem o SELECT prévio do {@code save} (a chave é atribuída,
+     * não gerada). Uma nova revogação de todos os tokens do usuário sobrescreve a anterior.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO revoked_tokens (id, revoked_at, expires_at)
+            VALUES (:id, :revokedAt, :expiresAt)
+            ON DUPLICATE KEY UPDATE revoked_at = VALUES(revoked_at), expires_at = VALUES(expires_at)
+            """, nativeQuery = true)
+    int upsert(@Param("id") String id, @Param("revokedAt") LocalDateTime revokedAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("SELECT t FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<RevokedToken> findActive(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
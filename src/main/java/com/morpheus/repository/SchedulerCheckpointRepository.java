@@ -0,0 +1,42 @@
+package com.morpheus.repository;
+
+import com.morpheus.model.entity.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, String> {
+
+    /**
+     * Cria o checkpoint se ainda não existir; concorrente entre nós sem erro de chave duplicada.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT IGNORE INTO scheduler_checkpoints (name, high_water_mark, updated_at)
+            VALUES (:name, :mark, :now)
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("name") String name, @Param("mark") LocalDateTime mark, @Param("now") LocalDateTime now);
+
+    /**
+     * Avança o checkpoint para {@code mark}, desde que a marca atual já alcance {@code reachedFrom}
+     * (sem lacuna entre ela e o intervalo processado) e seja anterior a {@code mark}. Nunca retrocede.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE SchedulerCheckpoint c
+            SET c.highWaterMark = :mark, c.updatedAt = :now
+            WHERE c.name = :name
+              AND c.highWaterMark >= :reachedFrom
+              AND c.highWaterMark < :mark
+            """)
+    int advance(@Param("name") String name,
+                @Param("reachedFrom") LocalDateTime reachedFrom,
+                @Param("mark") LocalDateTime mark,
+                @Param("now") LocalDateTime now);
+}
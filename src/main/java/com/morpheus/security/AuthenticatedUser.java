@@ -0,0 +1,11 @@
+package com.morpheus.security;
+
+/**
+ * Principal exposto pelo filtro JWT. O id vem da claim assinada do token e
+ * pode ser nulo em tokens emitidos antes da inclusão dessa claim.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email
+) {
+}
@@ -1,5 +1,8 @@
 package com.morpheus.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.morpheus.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -9,16 +12,27 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     private final JwtProperties jwtProperties;
     private Key secretKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     protected void init() {
@@ -27,36 +41,105 @@ public class JwtTokenProvider {
             throw new IllegalArgumentException("A chave secreta deve ter pelo menos 32 caracteres para ser segura.");
         }
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        JwtProperties.VerifiedCache cacheProperties = jwtProperties.getCache();
+        if (cacheProperties != null && cacheProperties.getMaxSize() > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaxSize())
+                    .expireAfter(untilTokenExpiry(cacheProperties.getTtlSeconds()))
+                    .build();
+        }
     }
 
     public String generateToken(String subject) {
         Date now = new Date();
         Date expiration = new Date(now.getTime() + jwtProperties.getExpiration() * 1000L);
 
-        return Jwts.builder().setSubject(subject).setIssuedAt(now).setExpiration(expiration).signWith(secretKey, SignatureAlgorithm.HS256).compact();
+        return Jwts.builder().setSubject(subject).setId(UUID.randomUUID().toString()).setIssuedAt(now).setExpiration(expiration).signWith(secretKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    public String generateToken(String subject, Long userId) {
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + jwtProperties.getExpiration() * 1000L);
+        return Jwts.builder().setSubject(subject).claim(USER_ID_CLAIM, userId).setId(UUID.randomUUID().toString()).setIssuedAt(now).setExpiration(expiration).signWith(secretKey, SignatureAlgorithm.HS256).compact();
     }
 
     public String generateToken(String subject, List<String> roles) {
         Date now = new Date();
         Date expiration = new Date(now.getTime() + jwtProperties.getExpiration() * 1000L);
-        return Jwts.builder().setSubject(subject).claim("roles", String.join(",", roles)).setIssuedAt(now).setExpiration(expiration).signWith(secretKey, SignatureAlgorithm.HS256).compact();
+        return Jwts.builder().setSubject(subject).claim("roles", String.join(",", roles)).setId(UUID.randomUUID().toString()).setIssuedAt(now).setExpiration(expiration).signWith(secretKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Verifica o token uma única vez e extrai todas as claims usadas na autenticação.
+     * Tokens já verificados ficam em cache (pelo hash SHA-256) até o menor entre o TTL
+     * configurado e a expiração do próprio token.
+     *
+     * @param token token JWT
+     * @return token verificado, ou vazio se for inválido ou estiver expirado
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        String key = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<VerifiedToken> verified = parse(token);
+        verified.ifPresent(value -> verifiedTokens.put(key, value));
+        return verified;
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    public String getSubject(String token) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    /**
+     * Obtém o id do usuário da claim assinada do token.
+     *
+     * @param token token JWT
+     * @return id do usuário ou {@code null} se o token não tiver a claim
+     */
+    public Long getUserId(String token) {
+        return userId(jwtParser.parseClaimsJws(token).getBody());
+    }
+
+    public List<String> getRoles(String token) {
+        return roles(jwtParser.parseClaimsJws(token).getBody());
+    }
+
+    private Optional<VerifiedToken> parse(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+            Instant issuedAt = claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant();
+            return Optional.of(new VerifiedToken(claims.getSubject(), userId(claims), roles(claims), expiresAt,
+                    claims.getId(), issuedAt));
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    public String getSubject(String token) {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody().getSubject();
+    private static Long userId(Claims claims) {
+        Object userIdClaim = claims.get(USER_ID_CLAIM);
+        if (userIdClaim instanceof Number number) {
+            return number.longValue();
+        } else if (userIdClaim instanceof String userIdStr) {
+            return Long.valueOf(userIdStr);
+        }
+        return null;
     }
 
-    public List<String> getRoles(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+    private static List<String> roles(Claims claims) {
         Object rolesClaim = claims.get("roles");
         if (rolesClaim instanceof String rolesStr) {
             return Arrays.asList(rolesStr.split(","));
@@ -65,4 +148,36 @@ public class JwtTokenProvider {
         }
         return List.of();
     }
+
+    private static Expiry<String, VerifiedToken> untilTokenExpiry(long ttlSeconds) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+                if (value.expiresAt() == null) {
+                    return ttlNanos;
+                }
+                long remainingMillis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                return Math.max(0, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
 }
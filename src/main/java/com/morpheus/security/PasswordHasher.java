@@ -0,0 +1,171 @@
+package com.morpheus.security;
+
+import com.morpheus.exception.AuthenticationOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hashing e a verificação BCrypt em um pool dedicado, dimensionado pelos núcleos
+ * da máquina, em vez de nas threads do servidor. A fila do pool é limitada: quando está cheia,
+ * ou quando a espera excede o tempo máximo, a requisição é recusada com
+ * {@link AuthenticationOverloadedException} (HTTP 503), de modo que uma rajada de logins não
+ * esgote as threads que atendem o restante da API.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String HASH = "hash";
+    private static final String VERIFY = "verify";
+
+    private final int cost;
+    private final long waitTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry registry;
+    private final Counter rejected;
+
+    public PasswordHasher(MeterRegistry registry,
+                          @Value("${morpheus.auth.hashing.cost:10}") int cost,
+                          @Value("${morpheus.auth.hashing.pool-size:0}") int poolSize,
+                          @Value("${morpheus.auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${morpheus.auth.hashing.wait-timeout-millis:5000}") long waitTimeoutMillis) {
+        if (cost < 4 || cost > 31 || queueCapacity <= 0 || waitTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Configuração inválida para o hashing de senhas.");
+        }
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.cost = cost;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.registry = registry;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "morpheus-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("morpheus.auth.hash.rejected")
+                .description("Operações de hashing recusadas por saturação do pool")
+                .register(registry);
+        Gauge.builder("morpheus.auth.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Operações de hashing aguardando no pool")
+                .register(registry);
+        log.info("Pool de hashing de senhas: {} threads, fila de {}, custo BCrypt {}.", threads, queueCapacity, cost);
+    }
+
+    /**
+     * Gera o hash da senha com o custo configurado.
+     *
+     * @throws AuthenticationOverloadedException se o pool estiver saturado
+     */
+    public String hash(String rawPassword) {
+        return await(submit(HASH, () -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost))));
+    }
+
+    /**
+     * Verifica a senha contra o hash armazenado.
+     *
+     * @throws AuthenticationOverloadedException se o pool estiver saturado
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(submit(VERIFY, () -> BCrypt.checkpw(rawPassword, passwordHash)));
+    }
+
+    /**
+     * Gera o hash em segundo plano, sem bloquear o chamador; usado no rehash transparente
+     * após o login. Se o pool estiver saturado, o futuro falha e o rehash fica para o próximo login.
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer(HASH).record(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost))), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new AuthenticationOverloadedException());
+        }
+    }
+
+    /**
+     * Indica se o hash foi gerado com custo diferente do configurado (ou em formato
+     * desconhecido) e deve ser refeito no próximo login bem-sucedido.
+     */
+    public boolean needsRehash(String passwordHash) {
+        return costOf(passwordHash) != cost;
+    }
+
+    /**
+     * Custo codificado em um hash BCrypt ({@code $2a$10$...}), ou {@code -1} se o formato não for reconhecido.
+     */
+    static int costOf(String passwordHash) {
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(0) != '$') {
+            return -1;
+        }
+        int separator = passwordHash.indexOf('$', 1);
+        if (separator < 0 || separator + 3 >= passwordHash.length() || passwordHash.charAt(separator + 3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(separator + 1, separator + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> Future<T> submit(String operation, Supplier<T> task) {
+        try {
+            return executor.submit(() -> timer(operation).record(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Pool de hashing saturado; operação [{}] recusada.", operation);
+            throw new AuthenticationOverloadedException();
+        }
+    }
+
+    private Timer timer(String operation) {
+        return Timer.builder("morpheus.auth.hash")
+                .description("Duração das operações BCrypt no pool de hashing")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Tempo limite de {} ms excedido aguardando o pool de hashing.", waitTimeoutMillis);
+            throw new AuthenticationOverloadedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationOverloadedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha no hashing de senha", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,6 +2,8 @@ package com.morpheus.security;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,7 +19,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -27,10 +29,28 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
+    /**
+     * Porta exclusiva do actuator, não exposta publicamente; {@code -1} quando compartilha a porta da API.
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    /**
+     * Apenas o health é público. As métricas (com séries por usuário, autenticação e entrega) só
+     * são liberadas sem token na porta de gerenciamento; na porta da API exigem autenticação.
+     */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http.csrf(AbstractHttpConfigurer::disable).sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).authorizeHttpRequests(auth -> auth.requestMatchers("/auth/**").permitAll().anyRequest().authenticated()).addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class).build();
+        return http.csrf(AbstractHttpConfigurer::disable).sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).authorizeHttpRequests(auth -> auth.requestMatchers("/auth/**").permitAll().requestMatchers(EndpointRequest.to("health")).permitAll().requestMatchers(this::onManagementPort).permitAll().anyRequest().authenticated()).addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class).build();
+    }
+
+    private boolean onManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
     }
 
     @Bean
@@ -42,11 +62,11 @@ public class SecurityConfig {
                     String header = request.getHeader("Authorization");
                     if (header != null && header.startsWith("Bearer ")) {
                         String token = header.substring(7);
-                        if (jwtTokenProvider.validateToken(token)) {
-                            String email = jwtTokenProvider.getSubject(token);
-                            List<String> roles = jwtTokenProvider.getRoles(token);
-                            var authorities = roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toList());
-                            var auth = new UsernamePasswordAuthenticationToken(email, null, authorities);
+                        Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+                        if (verified.isPresent() && !tokenRevocationService.isRevoked(verified.get())) {
+                            VerifiedToken claims = verified.get();
+                            var authorities = claims.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toList());
+                            var auth = new UsernamePasswordAuthenticationToken(new AuthenticatedUser(claims.userId(), claims.subject()), null, authorities);
                             SecurityContextHolder.getContext().setAuthentication(auth);
                         }
                     }
@@ -0,0 +1,177 @@
+package com.morpheus.security;
+
+import com.morpheus.config.JwtProperties;
+import com.morpheus.model.entity.RevokedToken;
+import com.morpheus.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revogação de access tokens consultada pelo filtro JWT a cada requisição.
+ * <p>
+ * Os {@code jti} revogados individualmente passam primeiro por um {@link BloomFilter} em memória;
+ * só um "talvez presente" (token de fato revogado ou falso positivo) chega ao banco, por busca
+ * na chave primária. As revogações de todos os tokens de um usuário são poucas e guardadas por
+ * inteiro em memória, com o instante de corte de cada usuário, e comparadas sem acesso ao banco.
+ * Tokens não revogados, a quase totalidade, custam um teste no filtro e uma busca no mapa.
+ * <p>
+ * Cada entrada vale até a expiração dos tokens que revoga. O filtro não suporta remoção, então
+ * filtro e cortes são reconstruídos periodicamente a partir das entradas ainda vigentes, o que
+ * descarta as expiradas e incorpora as revogações feitas por outros nós.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final String USER_PREFIX = "user:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long accessTokenSeconds;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+    private final Object lock = new Object();
+    private volatile BloomFilter filter;
+    private volatile Map<Long, LocalDateTime> userCutoffs = new ConcurrentHashMap<>();
+    private List<String> tokensRevokedDuringRebuild;
+    private Map<Long, LocalDateTime> usersRevokedDuringRebuild;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JwtProperties jwtProperties,
+                                  MeterRegistry registry) {
+        JwtProperties.Revocation revocation = jwtProperties.getRevocation();
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.accessTokenSeconds = jwtProperties.getExpiration();
+        this.expectedEntries = revocation.getExpectedEntries();
+        this.falsePositiveRate = revocation.getFalsePositiveRate();
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.revokedHits = lookups(registry, "revoked");
+        this.falsePositives = lookups(registry, "false_positive");
+    }
+
+    /**
+     * Indica se o token foi revogado individualmente ou por uma revogação de todos os
+     * tokens do usuário posterior à sua emissão.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.userId() != null) {
+            LocalDateTime cutoff = userCutoffs.get(token.userId());
+            if (cutoff != null && issuedBefore(token, cutoff)) {
+                return true;
+            }
+        }
+        if (token.tokenId() != null && filter.mightContain(token.tokenId())) {
+            if (revokedTokenRepository.existsById(token.tokenId())) {
+                revokedHits.increment();
+                return true;
+            }
+            falsePositives.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Revoga um único access token até a sua expiração. Tokens sem {@code jti} não são revogáveis individualmente.
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            return;
+        }
+        LocalDateTime expiresAt = token.expiresAt() != null
+                ? LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault())
+                : LocalDateTime.now().plusSeconds(accessTokenSeconds);
+        revokedTokenRepository.upsert(token.tokenId(), LocalDateTime.now(), expiresAt);
+        synchronized (lock) {
+            filter.put(token.tokenId());
+            if (tokensRevokedDuringRebuild != null) {
+                tokensRevokedDuringRebuild.add(token.tokenId());
+            }
+        }
+    }
+
+    /**
+     * Revoga todos os access tokens do usuário emitidos até agora (logout de todas as sessões,
+     * troca de credenciais ou suspeita de vazamento). Tokens emitidos depois continuam válidos.
+     * A granularidade é a da claim {@code iat}, em segundos.
+     */
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        revokedTokenRepository.upsert(USER_PREFIX + userId, now, now.plusSeconds(accessTokenSeconds));
+        synchronized (lock) {
+            userCutoffs.put(userId, now);
+            if (usersRevokedDuringRebuild != null) {
+                usersRevokedDuringRebuild.put(userId, now);
+            }
+        }
+    }
+
+    /**
+     * Reconstrói o filtro e os cortes por usuário com as entradas vigentes e remove as expiradas do banco.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${morpheus.jwt.revocation.sync-millis:30000}")
+    public void rebuild() {
+        synchronized (lock) {
+            tokensRevokedDuringRebuild = new ArrayList<>();
+            usersRevokedDuringRebuild = new HashMap<>();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> active = revokedTokenRepository.findActive(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, active.size() * 2), falsePositiveRate);
+            Map<Long, LocalDateTime> cutoffs = new ConcurrentHashMap<>();
+            for (RevokedToken entry : active) {
+                if (entry.getId().startsWith(USER_PREFIX)) {
+                    cutoffs.put(Long.valueOf(entry.getId().substring(USER_PREFIX.length())), entry.getRevokedAt());
+                } else {
+                    rebuilt.put(entry.getId());
+                }
+            }
+            synchronized (lock) {
+                tokensRevokedDuringRebuild.forEach(rebuilt::put);
+                cutoffs.putAll(usersRevokedDuringRebuild);
+                filter = rebuilt;
+                userCutoffs = cutoffs;
+            }
+            log.debug("Filtro de revogação reconstruído com {} entradas, {} delas de usuários.", active.size(), cutoffs.size());
+        } catch (Exception e) {
+            log.error("Erro ao reconstruir o filtro de revogação: {}", e.getMessage(), e);
+        } finally {
+            synchronized (lock) {
+                tokensRevokedDuringRebuild = null;
+                usersRevokedDuringRebuild = null;
+            }
+        }
+    }
+
+    private static boolean issuedBefore(VerifiedToken token, LocalDateTime revokedAt) {
+        if (token.issuedAt() == null) {
+            return true;
+        }
+        Instant cutoff = revokedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return token.issuedAt().isBefore(cutoff);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("morpheus.auth.revocation.lookups")
+                .description("Consultas ao banco após um acerto no filtro de revogação")
+                .tag("result", result)
+                .register(registry);
+    }
+}
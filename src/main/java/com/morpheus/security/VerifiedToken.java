@@ -0,0 +1,18 @@
+package com.morpheus.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado de uma única verificação do token JWT: assinatura conferida e claims extraídas.
+ *
+ * @param subject   e-mail do usuário
+ * @param userId    id do usuário, ou {@code null} para tokens emitidos sem a claim
+ * @param roles     papéis do usuário
+ * @param expiresAt instante de expiração do token
+ * @param tokenId   identificador único do token ({@code jti}), usado na revogação
+ * @param issuedAt  instante de emissão do token ({@code iat})
+ */
+public record VerifiedToken(String subject, Long userId, List<String> roles, Instant expiresAt,
+                            String tokenId, Instant issuedAt) {
+}
@@ -1,31 +1,81 @@
 package com.morpheus.service;
 
 import com.morpheus.dto.LoginRequest;
+import com.morpheus.dto.RefreshRequest;
 import com.morpheus.dto.RegisterRequest;
 import com.morpheus.dto.TokenResponse;
 import com.morpheus.exception.UserNotFoundException;
 import com.morpheus.model.entity.User;
 import com.morpheus.repository.UserRepository;
 import com.morpheus.security.JwtTokenProvider;
+import com.morpheus.security.PasswordHasher;
+import com.morpheus.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserIdentityCache userIdentityCache;
+    private final PasswordHasher passwordHasher;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     public TokenResponse authenticate(LoginRequest loginRequest) {
         User user = userRepository.findByEmail(loginRequest.email()).orElseThrow(UserNotFoundException::new);
-        if (!BCrypt.checkpw(loginRequest.password(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(loginRequest.password(), user.getPasswordHash())) {
             throw new IllegalArgumentException("Credenciais inválidas");
         }
-        String token = jwtTokenProvider.generateToken(user.getEmail());
-        return new TokenResponse(token);
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            rehash(user, loginRequest.password());
+        }
+        userIdentityCache.put(user);
+        String token = jwtTokenProvider.generateToken(user.getEmail(), user.getId());
+        return new TokenResponse(token, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Emite um novo access token a partir de um refresh token, sem verificar a senha.
+     * O refresh token apresentado é consumido e substituído pelo retornado.
+     *
+     * @param refreshRequest refresh token atual
+     * @return novo access token e novo refresh token
+     */
+    public TokenResponse refresh(RefreshRequest refreshRequest) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.refreshToken());
+        User user = rotation.user();
+        userIdentityCache.put(user);
+        String token = jwtTokenProvider.generateToken(user.getEmail(), user.getId());
+        return new TokenResponse(token, rotation.refreshToken());
+    }
+
+    /**
+     * Encerra a sessão: revoga o access token apresentado e a cadeia do refresh token informado.
+     * Com {@code allSessions}, revoga todos os access e refresh tokens do usuário.
+     * Tokens inválidos são ignorados, tornando a operação idempotente.
+     *
+     * @param accessToken  access token da sessão, sem o prefixo {@code Bearer}
+     * @param refreshToken refresh token da sessão, opcional
+     * @param allSessions  encerra todas as sessões do usuário
+     */
+    public void logout(String accessToken, String refreshToken, boolean allSessions) {
+        jwtTokenProvider.verify(accessToken).ifPresent(verified -> {
+            if (allSessions && verified.userId() != null) {
+                tokenRevocationService.revokeUser(verified.userId());
+                refreshTokenService.revokeAllForUser(verified.userId());
+            } else {
+                tokenRevocationService.revoke(verified);
+            }
+        });
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
     public void register(RegisterRequest registerRequest) {
@@ -35,12 +85,32 @@ public class AuthenticationService {
         User user = new User();
         user.setName(registerRequest.name());
         user.setEmail(registerRequest.email());
-        user.setPasswordHash(BCrypt.hashpw(registerRequest.password(), BCrypt.gensalt()));
+        user.setPasswordHash(passwordHasher.hash(registerRequest.password()));
         user.setCreatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        userIdentityCache.put(userRepository.save(user));
     }
 
     public TokenResponse login(LoginRequest loginRequest) {
         return authenticate(loginRequest);
     }
+
+    /**
+     * Refaz, em segundo plano, o hash gerado com um custo diferente do configurado, sem
+     * atrasar a resposta do login. Se o pool estiver saturado, tenta de novo no próximo login.
+     */
+    private void rehash(User user, String rawPassword) {
+        Long userId = user.getId();
+        String currentHash = user.getPasswordHash();
+        passwordHasher.hashAsync(rawPassword).whenComplete((newHash, error) -> {
+            if (error != null) {
+                log.debug("Rehash da senha do usuário [{}] adiado: {}", userId, error.getMessage());
+                return;
+            }
+            try {
+                userRepository.updatePasswordHash(userId, currentHash, newHash);
+            } catch (Exception e) {
+                log.warn("Falha ao atualizar o hash da senha do usuário [{}]: {}", userId, e.getMessage());
+            }
+        });
+    }
 }
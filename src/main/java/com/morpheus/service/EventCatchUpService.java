@@ -0,0 +1,233 @@
+package com.morpheus.service;
+
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.SchedulerCheckpoint;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.StaleEventPolicy;
+import com.morpheus.notification.TokenBucket;
+import com.morpheus.repository.SchedulerCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Recupera o backlog de eventos vencidos acumulado durante uma indisponibilidade.
+ * Cada varredura concluída do {@link EventSchedulerService} avança um checkpoint persistido
+ * (high-water mark) até o fim da janela processada. Quando o checkpoint fica para trás da
+ * janela de lookback, a lacuna é drenada em segundo plano, em páginas ordenadas por
+ * {@code scheduledFor} e limitadas por um token bucket, sem competir com os ticks normais.
+ * O checkpoint nunca ultrapassa um evento ainda pendente no intervalo drenado.
+ * Eventos atrasados além do limite configurado seguem a {@link StaleEventPolicy}.
+ */
+@Slf4j
+@Service
+public class EventCatchUpService {
+
+    static final String CHECKPOINT = "scheduler";
+
+    private static final Comparator<Event> DIGEST_ORDER = Comparator
+            .comparing((Event event) -> event.getUser() != null ? event.getUser().getId() : null,
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Event::getType, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Event::getScheduledFor);
+
+    private final SchedulerCheckpointRepository checkpointRepository;
+    private final EventLeaseService eventLeaseService;
+    private final EventOutboxService eventOutboxService;
+    private final EventOutboxWorker eventOutboxWorker;
+    private final EventListCache eventListCache;
+    private final EventMetrics eventMetrics;
+    private final boolean enabled;
+    private final int lookbackMinutes;
+    private final int pageSize;
+    private final long staleAfterMinutes;
+    private final StaleEventPolicy stalePolicy;
+    private final TokenBucket rateLimiter;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService catchUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "morpheus-catch-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventCatchUpService(SchedulerCheckpointRepository checkpointRepository,
+                               EventLeaseService eventLeaseService,
+                               EventOutboxService eventOutboxService,
+                               EventOutboxWorker eventOutboxWorker,
+                               EventListCache eventListCache,
+                               EventMetrics eventMetrics,
+                               @Value("${morpheus.scheduler.enabled:true}") boolean schedulerEnabled,
+                               @Value("${morpheus.scheduler.catch-up.enabled:true}") boolean catchUpEnabled,
+                               @Value("${morpheus.scheduler.lookback.minutes:10}") int lookbackMinutes,
+                               @Value("${morpheus.scheduler.catch-up.page-size:200}") int pageSize,
+                               @Value("${morpheus.scheduler.catch-up.max-events-per-second:200}") double maxEventsPerSecond,
+                               @Value("${morpheus.scheduler.catch-up.stale-after-minutes:60}") long staleAfterMinutes,
+                               @Value("${morpheus.scheduler.catch-up.stale-policy:DELIVER}") StaleEventPolicy stalePolicy) {
+        if (pageSize <= 0 || maxEventsPerSecond <= 0) {
+            throw new IllegalArgumentException("Configuração inválida para a recuperação de backlog.");
+        }
+        this.checkpointRepository = checkpointRepository;
+        this.eventLeaseService = eventLeaseService;
+        this.eventOutboxService = eventOutboxService;
+        this.eventOutboxWorker = eventOutboxWorker;
+        this.eventListCache = eventListCache;
+        this.eventMetrics = eventMetrics;
+        this.enabled = schedulerEnabled && catchUpEnabled;
+        this.lookbackMinutes = lookbackMinutes;
+        this.pageSize = pageSize;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.stalePolicy = stalePolicy;
+        this.rateLimiter = new TokenBucket(maxEventsPerSecond, pageSize);
+    }
+
+    /**
+     * Registra que a janela {@code [windowStart, windowEnd]} foi totalmente processada.
+     * O checkpoint só avança se já alcançava {@code windowStart}; havendo lacuna, ela
+     * permanece para a recuperação de backlog. Na primeira execução, o checkpoint é criado
+     * em {@code windowEnd}.
+     */
+    public void recordTick(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        LocalDateTime now = LocalDateTime.now();
+        checkpointRepository.createIfAbsent(CHECKPOINT, windowEnd, now);
+        checkpointRepository.advance(CHECKPOINT, windowStart, windowEnd, now);
+    }
+
+    /**
+     * Dispara a drenagem do backlog em segundo plano, se houver lacuna e nenhuma drenagem em curso.
+     */
+    @Scheduled(fixedDelayString = "${morpheus.scheduler.catch-up.poll-millis:30000}")
+    public void requestCatchUp() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        catchUpExecutor.execute(() -> {
+            try {
+                drainBacklog();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Drena a lacuna entre o checkpoint e o início da janela de lookback, página a página,
+     * avançando o checkpoint após cada página processada.
+     *
+     * @return quantidade de eventos processados (enfileirados ou descartados)
+     */
+    int drainBacklog() {
+        Optional<LocalDateTime> highWaterMark = checkpointRepository.findById(CHECKPOINT)
+                .map(SchedulerCheckpoint::getHighWaterMark);
+        LocalDateTime backlogEnd = LocalDateTime.now().minusMinutes(lookbackMinutes);
+        if (highWaterMark.isEmpty() || !highWaterMark.get().isBefore(backlogEnd)) {
+            return 0;
+        }
+        LocalDateTime mark = highWaterMark.get();
+        LocalDateTime cursor = mark;
+        LocalDateTime digestAttemptAt = LocalDateTime.now();
+        log.warn("Backlog do agendador detectado de {} até {}; iniciando recuperação.", mark, backlogEnd);
+        int processed = 0;
+        try {
+            List<Event> page;
+            do {
+                rateLimiter.acquire(pageSize);
+                long queryStart = System.nanoTime();
+                page = eventLeaseService.claimDueEvents(cursor, backlogEnd, pageSize);
+                eventMetrics.recordDueQuery("catch-up", queryStart, page.size());
+                LocalDateTime reached = page.size() < pageSize
+                        ? backlogEnd
+                        : page.stream().map(Event::getScheduledFor).max(Comparator.naturalOrder()).orElse(cursor);
+                processed += process(page, digestAttemptAt);
+                mark = advanceCheckpoint(mark, reached);
+                cursor = reached;
+            } while (page.size() == pageSize);
+            if (mark.isBefore(backlogEnd)) {
+                log.info("Recuperação de backlog parcial: {} eventos processados; checkpoint retido em {} por eventos ainda reivindicados.",
+                        processed, mark);
+            } else {
+                log.info("Recuperação de backlog concluída até {}: {} eventos processados.", mark, processed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Recuperação de backlog interrompida em {} após {} eventos.", mark, processed);
+        } catch (Exception e) {
+            log.error("Erro na recuperação de backlog a partir de {}: {}", mark, e.getMessage(), e);
+        }
+        return processed;
+    }
+
+    /**
+     * Avança o checkpoint até {@code reached}, exceto se ainda houver evento pendente no intervalo:
+     * linhas ignoradas pelo {@code SKIP LOCKED} ou sob lease de outro nó (possivelmente um nó que caiu)
+     * ficariam abaixo do checkpoint e fora do lookback, sem nenhuma varredura que as retomasse.
+     * Nesse caso o checkpoint para no evento pendente mais antigo e a próxima drenagem o retoma.
+     *
+     * @return checkpoint resultante
+     */
+    private LocalDateTime advanceCheckpoint(LocalDateTime mark, LocalDateTime reached) {
+        LocalDateTime safe = eventLeaseService.findOldestPending(mark, reached)
+                .filter(oldest -> oldest.isBefore(reached))
+                .orElse(reached);
+        if (!safe.isAfter(mark)) {
+            return mark;
+        }
+        checkpointRepository.advance(CHECKPOINT, mark, safe, LocalDateTime.now());
+        return safe;
+    }
+
+    /**
+     * Enfileira os eventos recentes da página e aplica a política de atraso aos demais.
+     */
+    private int process(List<Event> events, LocalDateTime digestAttemptAt) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        Map<Boolean, List<Event>> byStaleness = events.stream()
+                .collect(Collectors.partitioningBy(event -> event.getScheduledFor().isBefore(staleBefore)));
+        List<Event> stale = byStaleness.get(true);
+        List<Event> deliver = new ArrayList<>(byStaleness.get(false));
+        int enqueued = 0;
+        int dropped = 0;
+        switch (stalePolicy) {
+            case DELIVER -> deliver.addAll(stale);
+            case DIGEST -> enqueued += eventOutboxService.enqueue(stale.stream().sorted(DIGEST_ORDER).toList(), digestAttemptAt);
+            case DROP -> {
+                dropped = eventLeaseService.skip(stale);
+                if (!stale.isEmpty()) {
+                    log.warn("{} eventos atrasados além de {} minutos descartados sem notificação.", stale.size(), staleAfterMinutes);
+                }
+            }
+        }
+        enqueued += eventOutboxService.enqueue(deliver);
+        eventListCache.invalidateAll(events.stream()
+                .map(Event::getUser)
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .collect(Collectors.toSet()));
+        if (enqueued > 0) {
+            eventOutboxWorker.requestDrain();
+        }
+        return enqueued + dropped;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        catchUpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,173 @@
+package com.morpheus.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Estágio dedicado de despacho das notificações, isolado do ForkJoinPool comum.
+ * Cada chamada a {@link #dispatch(List, Predicate)} limita quantas tarefas rodam ao mesmo
+ * tempo e cancela as que excederem o tempo máximo por item, para que um canal lento
+ * não segure o ciclo do agendador. O timeout de cada item é removido do agendador assim que
+ * o item termina, de modo que drenagens grandes não acumulem tarefas pendentes.
+ */
+@Slf4j
+@Component
+public class EventDispatcher {
+
+    private final int maxConcurrency;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor timeoutScheduler;
+
+    public EventDispatcher(@Value("${morpheus.scheduler.dispatch.max-concurrency:64}") int maxConcurrency,
+                           @Value("${morpheus.scheduler.dispatch.timeout-millis:10000}") long timeoutMillis) {
+        if (maxConcurrency <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Configuração inválida para o despacho de notificações.");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, namedThreads("morpheus-dispatch-"));
+        this.timeoutScheduler = new ScheduledThreadPoolExecutor(1, namedThreads("morpheus-dispatch-timeout-"));
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Executa a tarefa para cada item com concorrência limitada e tempo máximo por item.
+     *
+     * @param items itens a despachar
+     * @param task  tarefa que retorna {@code true} quando o item foi processado com sucesso
+     * @return itens processados com sucesso, na ordem original
+     */
+    public <T> List<T> dispatch(List<T> items, Predicate<T> task) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<Boolean>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            permits.acquireUninterruptibly();
+            TimedTask future = new TimedTask(() -> task.test(item), permits);
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                future.cancel(false);
+            }
+            futures.add(future);
+        }
+
+        List<T> succeeded = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (awaitResult(items.get(i), futures.get(i))) {
+                succeeded.add(items.get(i));
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * Tarefa de um item. O tempo máximo conta a partir do início da execução, não da submissão,
+     * e é removido do agendador antes que o resultado fique visível. A permissão de concorrência é
+     * devolvida em {@link #done()}, chamado em qualquer desfecho: conclusão, falha ou cancelamento,
+     * inclusive de uma tarefa cancelada antes de começar.
+     */
+    private final class TimedTask extends FutureTask<Boolean> {
+
+        private final Semaphore permits;
+        private volatile ScheduledFuture<?> timeout;
+
+        private TimedTask(Callable<Boolean> callable, Semaphore permits) {
+            super(callable);
+            this.permits = permits;
+        }
+
+        @Override
+        public void run() {
+            timeout = timeoutScheduler.schedule(() -> cancel(true), timeoutMillis, TimeUnit.MILLISECONDS);
+            super.run();
+        }
+
+        @Override
+        protected void set(Boolean result) {
+            cancelTimeout();
+            super.set(result);
+        }
+
+        @Override
+        protected void setException(Throwable error) {
+            cancelTimeout();
+            super.setException(error);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            cancelTimeout();
+            return cancelled;
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        protected void done() {
+            permits.release();
+        }
+    }
+
+    private boolean awaitResult(Object item, Future<Boolean> future) {
+        try {
+            return Boolean.TRUE.equals(future.get());
+        } catch (CancellationException e) {
+            log.warn("Tempo limite de {} ms excedido ao despachar [{}].", timeoutMillis, item);
+        } catch (ExecutionException e) {
+            log.error("Erro ao despachar [{}]: {}", item, e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeoutScheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    int pendingTimeouts() {
+        return timeoutScheduler.getQueue().size();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
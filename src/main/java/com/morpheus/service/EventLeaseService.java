@@ -0,0 +1,167 @@
+package com.morpheus.service;
+
+import com.morpheus.model.entity.Event;
+import com.morpheus.repository.EventRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reivindica lotes de eventos vencidos para este nó por meio de leases no banco.
+ * As linhas são bloqueadas com {@code FOR UPDATE SKIP LOCKED}, de modo que vários nós
+ * reivindicam lotes disjuntos sem se bloquear. Leases expiradas (nó que caiu antes de
+ * confirmar a notificação) voltam a ficar disponíveis automaticamente.
+ */
+@Slf4j
+@Service
+public class EventLeaseService {
+
+    private final EventRepository eventRepository;
+
+    @Getter
+    private final String nodeId;
+
+    private final long leaseSeconds;
+
+    private final int updateChunkSize;
+
+    public EventLeaseService(EventRepository eventRepository,
+                             @Value("${morpheus.scheduler.node-id:}") String nodeId,
+                             @Value("${morpheus.scheduler.lease.seconds:60}") long leaseSeconds,
+                             @Value("${morpheus.scheduler.update-chunk-size:1000}") int updateChunkSize) {
+        if (updateChunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote de atualização deve ser positivo.");
+        }
+        this.eventRepository = eventRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.updateChunkSize = updateChunkSize;
+    }
+
+    /**
+     * Reivindica até {@code limit} eventos pendentes agendados entre {@code start} e {@code end}.
+     *
+     * @return eventos reivindicados por este nó, com o usuário carregado
+     */
+    @Transactional
+    public List<Event> claimDueEvents(LocalDateTime start, LocalDateTime end, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return claim(eventRepository.lockClaimableIds(start, end, now, limit), now);
+    }
+
+    /**
+     * Horário do evento pendente mais antigo entre {@code start} e {@code end}, reivindicado ou não.
+     * Indica até onde um intervalo foi de fato concluído quando parte dele foi ignorada por
+     * estar bloqueada ou sob lease de outro nó.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findOldestPending(LocalDateTime start, LocalDateTime end) {
+        return Optional.ofNullable(eventRepository.findOldestPendingScheduledFor(start, end));
+    }
+
+    /**
+     * Reivindica, entre os ids informados, os eventos já vencidos e ainda livres.
+     *
+     * @return eventos reivindicados por este nó, com o usuário carregado
+     */
+    @Transactional
+    public List<Event> claimEvents(Collection<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return claim(eventRepository.lockClaimableIdsIn(eventIds, now), now);
+    }
+
+    /**
+     * Confirma a notificação dos eventos: marca como notificados e libera as leases
+     * com UPDATEs em lote, divididos em blocos para limitar o tamanho da cláusula IN.
+     *
+     * @param eventIds ids dos eventos notificados
+     * @return quantidade de linhas atualizadas
+     */
+    @Transactional
+    public int acknowledge(List<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int from = 0; from < eventIds.size(); from += updateChunkSize) {
+            updated += eventRepository.markNotified(eventIds.subList(from, Math.min(from + updateChunkSize, eventIds.size())));
+        }
+        return updated;
+    }
+
+    /**
+     * Confirma a notificação da ocorrência corrente de séries recorrentes, avançando cada
+     * uma para a próxima ocorrência futura (ocorrências perdidas durante uma indisponibilidade
+     * são puladas). Séries encerradas por {@code COUNT}/{@code UNTIL} são marcadas como notificadas.
+     *
+     * @param series eventos recorrentes notificados
+     * @return quantidade de séries atualizadas
+     */
+    @Transactional
+    public int advanceSeries(List<Event> series) {
+        if (series == null || series.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> finished = new ArrayList<>();
+        int updated = 0;
+        for (Event event : series) {
+            Optional<LocalDateTime> next = Optional.empty();
+            long nextIndex = event.getOccurrenceIndex() + 1L;
+            try {
+                RecurrenceRule rule = RecurrenceRule.parse(event.getRecurrenceRule());
+                LocalDateTime start = event.getSeriesStart() != null ? event.getSeriesStart() : event.getScheduledFor();
+                nextIndex = Math.max(nextIndex, rule.firstIndexAtOrAfter(start, now));
+                next = nextIndex <= Integer.MAX_VALUE ? rule.occurrence(start, nextIndex) : Optional.empty();
+            } catch (IllegalArgumentException e) {
+                log.warn("Regra de recorrência inválida no evento [{}]; série encerrada: {}", event.getId(), e.getMessage());
+            }
+            if (next.isPresent()) {
+                updated += eventRepository.advanceOccurrence(event.getId(), next.get(), (int) nextIndex);
+            } else {
+                finished.add(event.getId());
+            }
+        }
+        return updated + acknowledge(finished);
+    }
+
+    /**
+     * Encerra a ocorrência corrente dos eventos sem notificá-los: eventos simples são marcados
+     * como notificados e séries recorrentes avançam para a próxima ocorrência.
+     *
+     * @param events eventos reivindicados cuja notificação foi descartada
+     * @return quantidade de eventos atualizados
+     */
+    @Transactional
+    public int skip(List<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        int updated = acknowledge(events.stream()
+                .filter(event -> event.getRecurrenceRule() == null)
+                .map(Event::getId)
+                .toList());
+        return updated + advanceSeries(events.stream().filter(event -> event.getRecurrenceRule() != null).toList());
+    }
+
+    private List<Event> claim(List<Long> lockedIds, LocalDateTime now) {
+        if (lockedIds.isEmpty()) {
+            return List.of();
+        }
+        eventRepository.updateClaim(lockedIds, nodeId, now.plusSeconds(leaseSeconds));
+        log.debug("Nó [{}] reivindicou {} eventos.", nodeId, lockedIds.size());
+        return eventRepository.findByIdInAndClaimedBy(lockedIds, nodeId);
+    }
+}
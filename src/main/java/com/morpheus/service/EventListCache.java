@@ -0,0 +1,58 @@
+package com.morpheus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.morpheus.dto.EventResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache limitado por tamanho e TTL das listas de eventos já mapeadas, por usuário.
+ * As entradas são invalidadas sempre que um evento do usuário é criado, alterado,
+ * excluído ou marcado como notificado pelo agendador.
+ */
+@Component
+public class EventListCache {
+
+    private final Cache<Long, List<EventResponse>> cache;
+
+    public EventListCache(@Value("${morpheus.cache.events.max-users:10000}") long maxUsers,
+                          @Value("${morpheus.cache.events.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna a lista em cache do usuário ou a carrega com o {@code loader} em caso de ausência.
+     */
+    public List<EventResponse> get(Long userId, Supplier<List<EventResponse>> loader) {
+        return cache.get(userId, key -> loader.get());
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    public void invalidateAll(Collection<Long> userIds) {
+        cache.invalidateAll(userIds);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -1,18 +1,151 @@
 package com.morpheus.service;
 
+import com.morpheus.exception.RecoverableEventException;
+import com.morpheus.metrics.EventMetrics;
 import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.notification.Notification;
+import com.morpheus.notification.NotificationChannel;
+import com.morpheus.notification.NotificationChannelDispatcher;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Compõe as mensagens de notificação e as entrega por todos os {@link NotificationChannel}
+ * registrados. Cada canal tem seu próprio {@link NotificationChannelDispatcher}, que agrupa
+ * as mensagens de chamadas concorrentes em lotes e respeita os limites do canal. A chamada
+ * só retorna quando todos os canais confirmaram a entrega; uma falha em qualquer canal é
+ * propagada para que a outbox reenvie a notificação (entrega ao menos uma vez).
+ * <p>
+ * Os canais que confirmam são anotados nas entradas da outbox ({@link EventOutbox#addDeliveredChannel}),
+ * mesmo quando outro canal falha, e a retentativa aciona apenas os que ainda faltam: a falha de
+ * um webhook não reenvia a notificação por SSE.
+ */
 @Slf4j
 @Service
 public class EventNotificationService {
-    public void notifyEvent(Event event) {
-        if (event == null) {
+
+    private final List<NotificationChannelDispatcher> dispatchers;
+    private final EventMetrics eventMetrics;
+
+    public EventNotificationService(List<NotificationChannel> channels,
+                                    EventMetrics eventMetrics,
+                                    @Value("${morpheus.notification.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${morpheus.notification.submit-timeout-millis:1000}") long submitTimeoutMillis) {
+        this.eventMetrics = eventMetrics;
+        this.dispatchers = channels.stream()
+                .map(channel -> new NotificationChannelDispatcher(channel, queueCapacity, submitTimeoutMillis))
+                .toList();
+        if (dispatchers.isEmpty()) {
+            log.warn("Nenhum canal de notificação configurado; as notificações serão apenas descartadas.");
+        } else {
+            log.info("Canais de notificação ativos: {}", dispatchers.stream()
+                    .map(NotificationChannelDispatcher::getChannelName)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Notifica a ocorrência registrada na entrada da outbox. O horário informado é o da
+     * ocorrência, não o do evento: em séries recorrentes, o evento já avançou para a próxima.
+     *
+     * @param entry entrada da outbox com o evento carregado
+     */
+    public void notifyEvent(EventOutbox entry) {
+        if (entry == null || entry.getEvent() == null) {
             log.warn("Tentativa de notificar evento nulo.");
             return;
         }
-        String userEmail = event.getUser() != null ? event.getUser().getEmail() : "desconhecido";
-        log.info("Notificando evento: [{}] para usuário [{}]", event.getTitle(), userEmail);
+        Event event = entry.getEvent();
+        deliver(event.getType(), new Notification(recipient(event.getUser()), event.getTitle(),
+                describe(entry), List.of(event.getId())), List.of(entry));
+    }
+
+    /**
+     * Envia uma única notificação de resumo com as ocorrências do mesmo usuário e tipo
+     * que venceram na mesma janela de agrupamento.
+     *
+     * @param user    destinatário
+     * @param type    tipo comum dos eventos
+     * @param entries entradas da outbox do resumo
+     */
+    public void notifyDigest(User user, EventType type, List<EventOutbox> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        if (entries.size() == 1) {
+            notifyEvent(entries.get(0));
+            return;
+        }
+        String body = entries.stream().map(EventNotificationService::describe).collect(Collectors.joining("\n"));
+        deliver(type, new Notification(recipient(user), "Resumo: " + entries.size() + " eventos " + type,
+                body, entries.stream().map(entry -> entry.getEvent().getId()).toList()), entries);
+    }
+
+    /**
+     * Entrega pelos canais que ainda não confirmaram todas as entradas e anota nelas os que confirmarem.
+     * Depois de aguardar todos os canais, propaga a primeira falha, se houver.
+     */
+    private void deliver(EventType type, Notification notification, List<EventOutbox> entries) {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        dispatchers.stream()
+                .filter(dispatcher -> !entries.stream().allMatch(entry -> entry.isDeliveredTo(dispatcher.getChannelName())))
+                .forEach(dispatcher -> results.put(dispatcher.getChannelName(), dispatcher.submit(notification)
+                        .whenComplete((ignored, error) ->
+                                eventMetrics.recordNotify(dispatcher.getChannelName(), type, start, outcome(error)))));
+        RuntimeException failure = null;
+        for (Map.Entry<String, CompletableFuture<Void>> result : results.entrySet()) {
+            try {
+                result.getValue().get();
+                entries.forEach(entry -> entry.addDeliveredChannel(result.getKey()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RecoverableEventException("Entrega da notificação interrompida.");
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new IllegalStateException("Falha ao entregar notificação", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return EventMetrics.OUTCOME_SUCCESS;
+        }
+        return error instanceof RecoverableEventException ? EventMetrics.OUTCOME_RECOVERABLE : EventMetrics.OUTCOME_FAILED;
+    }
+
+    private static String recipient(User user) {
+        return user != null ? user.getEmail() : "desconhecido";
+    }
+
+    private static String describe(EventOutbox entry) {
+        Event event = entry.getEvent();
+        LocalDateTime occurrenceAt = entry.getOccurrenceAt() != null ? entry.getOccurrenceAt() : event.getScheduledFor();
+        return event.getTitle() + " (" + event.getType() + ") em " + occurrenceAt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchers.forEach(NotificationChannelDispatcher::shutdown);
     }
 }
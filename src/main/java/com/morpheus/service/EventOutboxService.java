@@ -0,0 +1,206 @@
+package com.morpheus.service;
+
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.enums.OutboxStatus;
+import com.morpheus.repository.EventOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações transacionais da outbox de notificações.
+ * O agendador grava a entrada da outbox e marca o evento como notificado na mesma
+ * transação; a entrega efetiva fica a cargo do {@link EventOutboxWorker}, que registra
+ * o resultado de cada tentativa com retentativas e backoff exponencial.
+ */
+@Slf4j
+@Service
+public class EventOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final EventLeaseService eventLeaseService;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final long coalesceWindowSeconds;
+
+    public EventOutboxService(EventOutboxRepository eventOutboxRepository,
+                              EventLeaseService eventLeaseService,
+                              @Value("${morpheus.outbox.lease-seconds:60}") long leaseSeconds,
+                              @Value("${morpheus.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${morpheus.outbox.backoff.initial-seconds:30}") long initialBackoffSeconds,
+                              @Value("${morpheus.outbox.backoff.max-seconds:3600}") long maxBackoffSeconds,
+                              @Value("${morpheus.outbox.coalesce-window-seconds:0}") long coalesceWindowSeconds) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.eventLeaseService = eventLeaseService;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.coalesceWindowSeconds = coalesceWindowSeconds;
+    }
+
+    /**
+     * Enfileira os eventos vencidos na outbox e os marca como notificados, atomicamente.
+     * Séries recorrentes, em vez de marcadas, avançam para a próxima ocorrência.
+     *
+     * @param events eventos reivindicados pelo agendador
+     * @return quantidade de eventos enfileirados
+     */
+    @Transactional
+    public int enqueue(List<Event> events) {
+        return enqueue(events, coalescedAttemptAt(LocalDateTime.now()));
+    }
+
+    /**
+     * Enfileira os eventos com a primeira tentativa de entrega em {@code firstAttemptAt}.
+     * Entradas gravadas juntas e com a mesma primeira tentativa são reivindicadas em sequência
+     * pelo worker, que as agrupa em resumos por usuário e tipo.
+     *
+     * @param events         eventos reivindicados
+     * @param firstAttemptAt instante da primeira tentativa de entrega
+     * @return quantidade de eventos enfileirados
+     */
+    @Transactional
+    public int enqueue(List<Event> events, LocalDateTime firstAttemptAt) {
+        List<Event> validEvents = events == null ? List.of() : events.stream()
+                .filter(event -> {
+                    boolean valid = event != null && event.getId() != null && event.getScheduledFor() != null;
+                    if (!valid) {
+                        log.warn("Evento inconsistente encontrado e ignorado: {}", event);
+                    }
+                    return valid;
+                })
+                .toList();
+        if (validEvents.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EventOutbox> entries = validEvents.stream().map(event -> {
+            EventOutbox entry = new EventOutbox();
+            entry.setEvent(event);
+            entry.setOccurrenceAt(event.getScheduledFor());
+            entry.setStatus(OutboxStatus.PENDING);
+            entry.setNextAttemptAt(firstAttemptAt);
+            entry.setCreatedAt(now);
+            return entry;
+        }).toList();
+        eventOutboxRepository.saveAll(entries);
+        eventLeaseService.acknowledge(validEvents.stream()
+                .filter(event -> event.getRecurrenceRule() == null)
+                .map(Event::getId)
+                .toList());
+        List<Event> series = validEvents.stream().filter(event -> event.getRecurrenceRule() != null).toList();
+        if (!series.isEmpty()) {
+            eventLeaseService.advanceSeries(series);
+        }
+        return entries.size();
+    }
+
+    /**
+     * Reivindica até {@code limit} entradas prontas para entrega, adiando a próxima
+     * tentativa pelo tempo de lease para que outros workers não as peguem.
+     *
+     * @return entradas com evento e usuário carregados
+     */
+    @Transactional
+    public List<EventOutbox> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = eventOutboxRepository.lockDeliverableIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        eventOutboxRepository.extendLease(ids, now.plusSeconds(leaseSeconds));
+        return eventOutboxRepository.findWithEventByIdIn(ids);
+    }
+
+    /**
+     * Registra o resultado de um lote de entregas com UPDATEs em massa por id, sem carregar
+     * as entradas: um comando para as entregues e um por combinação de tentativa, erro e canais já
+     * entregues nas demais.
+     *
+     * @param delivered  ids das entradas entregues
+     * @param retryable  entradas com falha recuperável e a mensagem de erro
+     * @param failed     entradas com falha definitiva e a mensagem de erro
+     */
+    @Transactional
+    public void recordOutcome(List<Long> delivered, Map<EventOutbox, String> retryable, Map<EventOutbox, String> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!delivered.isEmpty()) {
+            eventOutboxRepository.markDelivered(delivered, now);
+        }
+        Map<Retry, List<Long>> retries = new LinkedHashMap<>();
+        Map<String, List<Long>> failures = new LinkedHashMap<>();
+        retryable.forEach((entry, error) -> {
+            int attempts = entry.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Entrega do evento [{}] esgotou {} tentativas.", entry.getEvent().getId(), maxAttempts);
+                failures.computeIfAbsent(truncate(error), key -> new ArrayList<>()).add(entry.getId());
+            } else {
+                retries.computeIfAbsent(new Retry(attempts, truncate(error), entry.getDeliveredChannels()),
+                        key -> new ArrayList<>()).add(entry.getId());
+            }
+        });
+        failed.forEach((entry, error) -> failures.computeIfAbsent(truncate(error), key -> new ArrayList<>()).add(entry.getId()));
+        retries.forEach((retry, ids) ->
+                eventOutboxRepository.markRetry(ids, retry.error(), retry.deliveredChannels(),
+                        now.plusSeconds(backoffSeconds(retry.attempts()))));
+        failures.forEach((error, ids) -> eventOutboxRepository.markFailed(ids, error));
+    }
+
+    /**
+     * Remove entradas entregues há mais tempo que o período de retenção.
+     *
+     * @return quantidade de entradas removidas
+     */
+    @Transactional
+    public int purgeDeliveredBefore(LocalDateTime cutoff) {
+        return eventOutboxRepository.deleteDeliveredBefore(cutoff);
+    }
+
+    /**
+     * Primeira tentativa de entrega das entradas enfileiradas em {@code now}: o fim da janela
+     * de agrupamento corrente, alinhada ao relógio, para que os eventos que vencem na mesma
+     * janela sejam reivindicados juntos e entregues como um resumo por usuário e tipo.
+     * Com a janela desativada ({@code 0}), a entrega é imediata.
+     */
+    LocalDateTime coalescedAttemptAt(LocalDateTime now) {
+        if (coalesceWindowSeconds <= 0) {
+            return now;
+        }
+        long epochSecond = now.toEpochSecond(ZoneOffset.UTC);
+        long windowEnd = (Math.floorDiv(epochSecond, coalesceWindowSeconds) + 1) * coalesceWindowSeconds;
+        return LocalDateTime.ofEpochSecond(windowEnd, 0, ZoneOffset.UTC);
+    }
+
+    long backoffSeconds(int attempts) {
+        long backoff = initialBackoffSeconds << Math.min(attempts - 1, 30);
+        return Math.min(backoff, maxBackoffSeconds);
+    }
+
+    /**
+     * Agrupamento das entradas reagendadas: mesma tentativa (e, portanto, mesmo backoff), mesmo erro
+     * e mesmos canais já entregues.
+     */
+    private record Retry(int attempts, String error, String deliveredChannels) {
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,193 @@
+package com.morpheus.service;
+
+import com.morpheus.exception.RecoverableEventException;
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.enums.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Worker que drena a outbox em lotes e entrega as notificações pelo {@link EventDispatcher},
+ * agrupando em um único resumo os eventos do mesmo usuário e tipo reivindicados juntos.
+ * Falhas sinalizadas com {@link RecoverableEventException} (e estouros de tempo) são
+ * reagendadas com backoff; as demais marcam a entrada como falha definitiva.
+ */
+@Slf4j
+@Component
+public class EventOutboxWorker {
+
+    private final EventOutboxService eventOutboxService;
+    private final EventNotificationService eventNotificationService;
+    private final EventDispatcher eventDispatcher;
+    private final EventMetrics eventMetrics;
+    private final int batchSize;
+    private final int retentionDays;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicReference<LocalDateTime> scheduledDrainAt = new AtomicReference<>();
+    private final ScheduledExecutorService drainExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "morpheus-outbox-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventOutboxWorker(EventOutboxService eventOutboxService,
+                             EventNotificationService eventNotificationService,
+                             EventDispatcher eventDispatcher,
+                             EventMetrics eventMetrics,
+                             @Value("${morpheus.outbox.batch-size:200}") int batchSize,
+                             @Value("${morpheus.outbox.retention-days:7}") int retentionDays) {
+        this.eventOutboxService = eventOutboxService;
+        this.eventNotificationService = eventNotificationService;
+        this.eventDispatcher = eventDispatcher;
+        this.eventMetrics = eventMetrics;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Solicita uma drenagem assíncrona, usada logo após o agendador enfileirar eventos.
+     * Com a janela de agrupamento ativa, as entradas só ficam disponíveis no fim da janela
+     * corrente; a drenagem é agendada para esse instante (uma vez por janela), em vez de
+     * esperar a próxima varredura periódica.
+     */
+    public void requestDrain() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime attemptAt = eventOutboxService.coalescedAttemptAt(now);
+        if (attemptAt == null || !attemptAt.isAfter(now)) {
+            drainExecutor.execute(this::drainOutbox);
+            return;
+        }
+        if (!attemptAt.equals(scheduledDrainAt.getAndSet(attemptAt))) {
+            drainExecutor.schedule(this::drainOutbox, Duration.between(now, attemptAt).toMillis() + 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drena a outbox até não restarem lotes completos. Execuções concorrentes no mesmo nó são ignoradas.
+     *
+     * @return quantidade de notificações entregues
+     */
+    @Scheduled(fixedDelayString = "${morpheus.outbox.poll-millis:5000}")
+    public int drainOutbox() {
+        if (!draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        int deliveredCount = 0;
+        try {
+            List<EventOutbox> batch;
+            do {
+                batch = eventOutboxService.claimBatch(batchSize);
+                deliveredCount += deliverBatch(batch);
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Erro ao drenar a outbox de notificações: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+        return deliveredCount;
+    }
+
+    @Scheduled(cron = "${morpheus.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeDelivered() {
+        int purged = eventOutboxService.purgeDeliveredBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Entradas entregues removidas da outbox: {}", purged);
+    }
+
+    /**
+     * Entrega um lote agrupando as entradas por usuário e tipo de evento: cada grupo vira
+     * uma única notificação de resumo, e o resultado do grupo vale para todas as suas entradas.
+     */
+    private int deliverBatch(List<EventOutbox> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<List<EventOutbox>> digests = new ArrayList<>(batch.stream()
+                .collect(Collectors.groupingBy(EventOutboxWorker::digestKey, LinkedHashMap::new, Collectors.toList()))
+                .values());
+        Map<EventOutbox, String> failed = new ConcurrentHashMap<>();
+        Map<EventOutbox, String> errors = new ConcurrentHashMap<>();
+        List<EventOutbox> delivered = eventDispatcher.dispatch(digests, digest -> deliver(digest, errors, failed)).stream()
+                .flatMap(List::stream)
+                .toList();
+        Set<EventOutbox> deliveredSet = Set.copyOf(delivered);
+        Map<EventOutbox, String> retryable = batch.stream()
+                .filter(entry -> !deliveredSet.contains(entry) && !failed.containsKey(entry))
+                .collect(Collectors.toMap(entry -> entry, entry -> errors.getOrDefault(entry, "Tempo limite de entrega excedido")));
+        eventOutboxService.recordOutcome(delivered.stream().map(EventOutbox::getId).toList(), retryable, failed);
+        recordMetrics(delivered, retryable.keySet(), failed.keySet());
+        log.info("Outbox: {} entregues em {} notificações, {} para nova tentativa, {} com falha.",
+                delivered.size(), digests.size(), retryable.size(), failed.size());
+        return delivered.size();
+    }
+
+    private boolean deliver(List<EventOutbox> digest, Map<EventOutbox, String> errors, Map<EventOutbox, String> failed) {
+        Event first = digest.get(0).getEvent();
+        try {
+            if (digest.size() == 1) {
+                eventNotificationService.notifyEvent(digest.get(0));
+            } else {
+                eventNotificationService.notifyDigest(first.getUser(), first.getType(), digest);
+            }
+            log.debug("{} evento(s) notificado(s) com sucesso a partir do evento [{}].", digest.size(), first.getId());
+            return true;
+        } catch (RecoverableEventException e) {
+            log.warn("Erro recuperável ao notificar evento [{}]: {}", first.getId(), e.getMessage());
+            digest.forEach(entry -> errors.put(entry, String.valueOf(e.getMessage())));
+        } catch (Exception e) {
+            log.error("Erro ao notificar evento [{}]: {}", first.getId(), e.getMessage(), e);
+            digest.forEach(entry -> failed.put(entry, String.valueOf(e.getMessage())));
+        }
+        return false;
+    }
+
+    private void recordMetrics(List<EventOutbox> delivered, Set<EventOutbox> retryable, Set<EventOutbox> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        delivered.forEach(entry -> {
+            eventMetrics.recordDelivery(entry.getEvent().getType(), EventMetrics.OUTCOME_SUCCESS);
+            if (entry.getOccurrenceAt() != null) {
+                eventMetrics.recordDeliveryLag(entry.getEvent().getType(), entry.getOccurrenceAt(), now);
+            }
+        });
+        retryable.forEach(entry -> eventMetrics.recordDelivery(entry.getEvent().getType(), EventMetrics.OUTCOME_RECOVERABLE));
+        failed.forEach(entry -> eventMetrics.recordDelivery(entry.getEvent().getType(), EventMetrics.OUTCOME_FAILED));
+    }
+
+    private static DigestKey digestKey(EventOutbox entry) {
+        Event event = entry.getEvent();
+        Long userId = event.getUser() != null ? event.getUser().getId() : null;
+        return userId == null
+                ? new DigestKey(null, event.getId(), event.getType())
+                : new DigestKey(userId, null, event.getType());
+    }
+
+    /**
+     * Chave de agrupamento dos resumos; eventos sem usuário são agrupados apenas consigo mesmos.
+     */
+    private record DigestKey(Long userId, Long eventId, EventType type) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdownNow();
+    }
+}
@@ -1,18 +1,21 @@
 package com.morpheus.service;
 
+import com.morpheus.metrics.EventMetrics;
 import com.morpheus.model.entity.Event;
 import com.morpheus.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.RecoverableException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -20,89 +23,161 @@ import java.util.List;
 public class EventSchedulerService {
 
     private final EventRepository eventRepository;
-    private final EventNotificationService eventNotificationService;
+    private final EventTimingWheel eventTimingWheel;
+    private final EventLeaseService eventLeaseService;
+    private final EventOutboxService eventOutboxService;
+    private final EventOutboxWorker eventOutboxWorker;
+    private final EventListCache eventListCache;
+    private final EventCatchUpService eventCatchUpService;
+    private final EventMetrics eventMetrics;
 
     @Value("${morpheus.scheduler.enabled:true}")
     private boolean schedulerEnabled;
 
-    @Value("${morpheus.scheduler.lookback.minutes:5}")
+    @Value("${morpheus.scheduler.lookback.minutes:10}")
     private int lookbackMinutes;
 
+    @Value("${morpheus.scheduler.page-size:500}")
+    private int pageSize = 500;
+
+    @PostConstruct
+    void startTimingWheel() {
+        if (schedulerEnabled) {
+            eventTimingWheel.start(this::fireDueEvents);
+        }
+    }
+
     /**
-     * Executa a verificação de eventos agendados a cada minuto, se habilitado.
-     * Busca eventos pendentes, notifica e marca como notificados.
+     * Executa a varredura de reconciliação dos eventos agendados, se habilitado.
+     * Reivindica em lotes os eventos pendentes que escaparam da roda de tempo (reinícios,
+     * falhas, leases expiradas), enfileira-os na outbox e pré-carrega na roda os eventos que vencem
+     * dentro do horizonte configurado. Lotes disjuntos permitem vários nós em paralelo.
+     * Ao concluir, avança o checkpoint usado pela recuperação de backlog ({@link EventCatchUpService}).
      * Em caso de erro, loga informações detalhadas para diagnóstico.
      *
      * @throws RuntimeException se ocorrer erro crítico durante a verificação
      */
-    @Scheduled(cron = "${morpheus.scheduler.cron:0 * * * * *}")
+    @Scheduled(cron = "${morpheus.scheduler.cron:0 */5 * * * *}")
     public void checkScheduledEvents() {
         if (!schedulerEnabled) {
             log.debug("Scheduler desabilitado por configuração.");
             return;
         }
 
+        final long tickStart = System.nanoTime();
         final LocalDateTime now = LocalDateTime.now();
         final LocalDateTime lookbackStart = now.minusMinutes(lookbackMinutes);
         try {
-            final List<Event> pendingEvents = eventRepository
-                    .findByNotifiedFalseAndScheduledForBetween(lookbackStart, now);
-            log.info("Verificando eventos agendados de {} até {}. Encontrados: {}", lookbackStart, now, pendingEvents.size());
-            int notifiedCount = notifyAndMarkEvents(pendingEvents);
-            log.info("Total de eventos notificados nesta execução: {}", notifiedCount);
+            log.info("Verificando eventos agendados de {} até {}.", lookbackStart, now);
+            int enqueuedCount = 0;
+            List<Event> claimedEvents;
+            do {
+                long queryStart = System.nanoTime();
+                claimedEvents = eventLeaseService.claimDueEvents(lookbackStart, now, pageSize);
+                eventMetrics.recordDueQuery("sweep", queryStart, claimedEvents.size());
+                enqueuedCount += enqueueDueEvents(claimedEvents);
+            } while (claimedEvents.size() == pageSize);
+            log.info("Total de eventos enfileirados para notificação nesta execução: {}", enqueuedCount);
+            eventCatchUpService.recordTick(lookbackStart, now);
+            preloadUpcomingEvents(now);
+            eventMetrics.recordTick(tickStart, true);
         } catch (Exception e) {
+            eventMetrics.recordTick(tickStart, false);
             log.error("Erro ao verificar eventos agendados: {}", e.getMessage(), e);
             throw new RuntimeException("Erro crítico ao processar eventos agendados", e);
         }
     }
 
     /**
-     * Notifica eventos pendentes e marca como notificados de forma atômica.
-     * Em caso de erro individual, loga e continua o processamento dos demais.
+     * Registra na roda de tempo os eventos pendentes que vencem dentro do horizonte.
+     *
+     * @param now instante de referência da varredura
+     */
+    private void preloadUpcomingEvents(LocalDateTime now) {
+        if (!eventTimingWheel.isRunning()) {
+            return;
+        }
+        final LocalDateTime horizonEnd = now.plusNanos(eventTimingWheel.getHorizonMillis() * 1_000_000L);
+        int preloadedCount = forEachPendingPage(now, horizonEnd, page -> {
+            page.forEach(event -> eventTimingWheel.schedule(event.getId(), event.getScheduledFor()));
+            return page.size();
+        });
+        log.info("Eventos pré-carregados na roda de tempo até {}: {}", horizonEnd, preloadedCount);
+    }
+
+    /**
+     * Percorre em páginas limitadas os eventos pendentes agendados entre {@code start} e {@code end},
+     * usando paginação por chave ({@code scheduledFor}, {@code id}) para manter a memória constante.
+     *
+     * @param start         início do intervalo (inclusivo)
+     * @param end           fim do intervalo (inclusivo)
+     * @param pageProcessor processa cada página e retorna a quantidade de eventos tratados
+     * @return soma das quantidades retornadas pelo processador
+     */
+    private int forEachPendingPage(LocalDateTime start, LocalDateTime end, ToIntFunction<List<Event>> pageProcessor) {
+        LocalDateTime cursorScheduledFor = start;
+        Long cursorId = 0L;
+        int total = 0;
+        List<Event> page;
+        do {
+            page = eventRepository.findNextPendingPage(cursorScheduledFor, cursorId, end, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            Event last = page.get(page.size() - 1);
+            cursorScheduledFor = last.getScheduledFor();
+            cursorId = last.getId();
+            total += pageProcessor.applyAsInt(page);
+        } while (page.size() == pageSize);
+        return total;
+    }
+
+    /**
+     * Dispara os eventos vencidos entregues pela roda de tempo.
+     * Os eventos são reivindicados no banco antes do disparo, o que respeita alterações e
+     * notificações já realizadas e impede que outro nó enfileire o mesmo evento.
+     *
+     * @param eventIds ids dos eventos vencidos
+     */
+    void fireDueEvents(Collection<Long> eventIds) {
+        try {
+            long queryStart = System.nanoTime();
+            final List<Event> dueEvents = eventLeaseService.claimEvents(eventIds);
+            eventMetrics.recordDueQuery("wheel", queryStart, dueEvents.size());
+            int enqueuedCount = enqueueDueEvents(dueEvents);
+            log.debug("Roda de tempo disparou {} eventos, enfileirados: {}", eventIds.size(), enqueuedCount);
+        } catch (Exception e) {
+            log.error("Erro ao disparar eventos da roda de tempo {}: {}", eventIds, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Enfileira os eventos vencidos na outbox de notificações e aciona o worker de entrega.
+     * A gravação da outbox e a marcação como notificado ocorrem na mesma transação,
+     * de modo que uma falha não gera notificações duplicadas.
      *
-     * @param events lista de eventos a notificar
-     * @return quantidade de eventos notificados com sucesso
-     * @throws IllegalArgumentException se algum evento estiver inconsistente
-     * @throws RuntimeException         se ocorrer erro crítico ao salvar
+     * @param events lista de eventos vencidos
+     * @return quantidade de eventos enfileirados
+     * @throws RuntimeException se ocorrer erro crítico ao gravar a outbox
      */
-    @Transactional
-    private int notifyAndMarkEvents(List<Event> events) {
+    private int enqueueDueEvents(List<Event> events) {
         if (events == null || events.isEmpty()) {
             log.debug("Nenhum evento pendente para notificar.");
             return 0;
         }
-        List<Event> notifiedEvents = new ArrayList<>();
-        events.parallelStream().forEach(event -> {
-            try {
-                if (event == null || event.getId() == null || event.getScheduledFor() == null) {
-                    log.warn("Evento inconsistente encontrado e ignorado: {}", event);
-                    return;
-                }
-                eventNotificationService.notifyEvent(event);
-                event.setNotified(true);
-                synchronized (notifiedEvents) {
-                    notifiedEvents.add(event);
-                }
-                log.debug("Evento [{}] notificado com sucesso.", event.getId());
-            } catch (RecoverableException e) {
-                log.warn("Erro recuperável ao notificar evento [{}]: {}", event != null ? event.getId() : null, e.getMessage());
-            } catch (IllegalArgumentException e) {
-                log.warn("Evento inconsistente encontrado e ignorado: {}", event);
-            } catch (Exception e) {
-                log.error("Erro ao notificar evento [{}]: {}", event != null ? event.getId() : null, e.getMessage(), e);
-            }
-        });
-        if (!notifiedEvents.isEmpty()) {
-            try {
-                eventRepository.saveAll(notifiedEvents);
-                log.info("Eventos notificados salvos com sucesso. Total: {}", notifiedEvents.size());
-            } catch (Exception e) {
-                log.error("Erro ao salvar eventos notificados: {}", e.getMessage(), e);
-                throw new RuntimeException("Erro ao salvar eventos notificados", e);
+        try {
+            int enqueuedCount = eventOutboxService.enqueue(events);
+            if (enqueuedCount > 0) {
+                eventListCache.invalidateAll(events.stream()
+                        .filter(event -> event != null && event.getUser() != null)
+                        .map(event -> event.getUser().getId())
+                        .collect(Collectors.toSet()));
+                eventOutboxWorker.requestDrain();
             }
-        } else {
-            log.debug("Nenhum evento foi notificado, nada a salvar.");
+            return enqueuedCount;
+        } catch (Exception e) {
+            log.error("Erro ao enfileirar eventos vencidos: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao enfileirar eventos vencidos", e);
         }
-        return notifiedEvents.size();
     }
 }
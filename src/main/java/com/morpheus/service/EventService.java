@@ -1,18 +1,34 @@
 package com.morpheus.service;
 
+import com.morpheus.dto.EventCursor;
+import com.morpheus.dto.EventFilter;
+import com.morpheus.dto.EventOccurrence;
+import com.morpheus.dto.EventPage;
 import com.morpheus.dto.EventRequest;
 import com.morpheus.dto.EventResponse;
+import com.morpheus.dto.UserIdentity;
 import com.morpheus.model.entity.Event;
 import com.morpheus.model.entity.User;
+import com.morpheus.repository.EventBulkRepository;
 import com.morpheus.repository.EventRepository;
 import com.morpheus.repository.UserRepository;
+import com.morpheus.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.morpheus.exception.UserNotFoundException;
 import com.morpheus.exception.EventNotFoundException;
@@ -24,19 +40,146 @@ public class EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int IMPORT_BATCH_SIZE = 1000;
+    static final int MAX_IMPORT_SIZE = 100_000;
+    static final int MAX_OCCURRENCE_WINDOW_DAYS = 366;
+    static final int MAX_OCCURRENCES = 10_000;
+
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final EventTimingWheel eventTimingWheel;
+    private final EventListCache eventListCache;
+    private final UserIdentityCache userIdentityCache;
+    private final EventBulkRepository eventBulkRepository;
 
     public EventResponse createEvent(String email, EventRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado para o e-mail: " + email));
+        return createEvent(new AuthenticatedUser(null, email), request);
+    }
+
+    public EventResponse createEvent(AuthenticatedUser principal, EventRequest request) {
+        UserIdentity user = resolveUser(principal);
 
-        Event event = mapToEvent(request, user);
+        Event event = mapToEvent(request, userRepository.getReferenceById(user.id()));
         event = eventRepository.save(event);
+        eventTimingWheel.schedule(event.getId(), event.getScheduledFor());
+        eventListCache.invalidate(user.id());
 
         return mapToEventResponse(event);
     }
 
+    /**
+     * Importa eventos em massa para o usuário, em uma única transação, com INSERTs em lotes
+     * de {@value #IMPORT_BATCH_SIZE}. Os eventos são consumidos do iterador à medida que
+     * chegam, sem materializar a importação inteira em memória. Eventos já vencidos são
+     * gravados como notificados; os futuros entram na roda de tempo após o commit.
+     *
+     * @param principal usuário autenticado
+     * @param requests  eventos a importar
+     * @return quantidade de eventos importados
+     * @throws IllegalArgumentException se algum evento for inválido ou o limite de {@value #MAX_IMPORT_SIZE} for excedido
+     */
+    @Transactional
+    public int importEvents(AuthenticatedUser principal, Iterator<EventRequest> requests) {
+        UserIdentity user = resolveUser(principal);
+        LocalDateTime now = LocalDateTime.now();
+        int imported = 0;
+        int position = 0;
+        List<Event> chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<ScheduledImport> upcoming = new ArrayList<>();
+        while (requests.hasNext()) {
+            EventRequest request = requests.next();
+            position++;
+            if (position > MAX_IMPORT_SIZE) {
+                throw new IllegalArgumentException("A importação excede o limite de " + MAX_IMPORT_SIZE + " eventos.");
+            }
+            Event event = mapToEvent(validateImported(request, position), null);
+            if (!event.getScheduledFor().isAfter(now)) {
+                // Eventos já vencidos entram como histórico: a varredura do agendador não deve lembrá-los.
+                event.setNotified(true);
+            }
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+            chunk.add(event);
+            if (chunk.size() == IMPORT_BATCH_SIZE) {
+                imported += insertChunk(user, chunk, upcoming);
+                chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+            }
+        }
+        imported += insertChunk(user, chunk, upcoming);
+        afterCommit(() -> {
+            upcoming.forEach(scheduled -> eventTimingWheel.schedule(scheduled.id(), scheduled.scheduledFor()));
+            eventListCache.invalidate(user.id());
+        });
+        log.info("📥 {} eventos importados pelo usuário [{}]", imported, user.email());
+        return imported;
+    }
+
+    private int insertChunk(UserIdentity user, List<Event> chunk, List<ScheduledImport> upcoming) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = eventBulkRepository.insertBatch(user.id(), chunk);
+        for (int i = 0; i < ids.size(); i++) {
+            Event event = chunk.get(i);
+            if (!event.isNotified()) {
+                upcoming.add(new ScheduledImport(ids.get(i), event.getScheduledFor()));
+            }
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente, ou imediatamente fora de uma transação.
+     * Invalidar o cache ou agendar na roda de tempo antes do commit permitiria que uma leitura
+     * concorrente recarregasse o estado anterior, ou que a roda disparasse eventos ainda invisíveis.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record ScheduledImport(Long id, LocalDateTime scheduledFor) {
+    }
+
+    /**
+     * Valida um evento importado.
+     *
+     * @throws IllegalArgumentException com a posição do evento, se for inválido
+     */
+    private static EventRequest validateImported(EventRequest request, int position) {
+        String error = null;
+        if (request == null) {
+            error = "evento vazio";
+        } else if (request.title() == null || request.title().isBlank()) {
+            error = "título obrigatório";
+        } else if (request.title().length() > 200) {
+            error = "título excede 200 caracteres";
+        } else if (request.type() == null) {
+            error = "tipo obrigatório";
+        } else if (request.scheduledFor() == null) {
+            error = "data de agendamento obrigatória";
+        } else if (request.recurrence() != null && !request.recurrence().isBlank()) {
+            try {
+                RecurrenceRule.parse(request.recurrence());
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+        }
+        if (error != null) {
+            throw new IllegalArgumentException("Evento inválido na posição " + position + ": " + error);
+        }
+        return request;
+    }
+
     private Event mapToEvent(EventRequest request, User user) {
         Event event = new Event();
         event.setUser(user);
@@ -45,12 +188,13 @@ public class EventService {
         event.setType(request.type());
         event.setScheduledFor(request.scheduledFor());
         event.setNotified(false);
+        applyRecurrence(event, request.recurrence());
         event.setCreatedAt(LocalDateTime.now());
         event.setUpdatedAt(LocalDateTime.now());
         return event;
     }
 
-    private EventResponse mapToEventResponse(Event event) {
+    static EventResponse mapToEventResponse(Event event) {
         if (event == null) {
             throw new IllegalArgumentException("Evento não pode ser nulo");
         }
@@ -60,33 +204,194 @@ public class EventService {
                 event.getDescription(),
                 event.getType(),
                 event.getScheduledFor(),
-                event.isNotified()
+                event.isNotified(),
+                event.getRecurrenceRule()
         );
     }
 
-    public List<EventResponse> listEvents(String email) {
-        User user = userRepository.findByEmail(email)
+    /**
+     * Resolve a identidade do usuário autenticado pelo cache de identidades.
+     *
+     * @param email e-mail do usuário
+     * @return identidade do usuário
+     * @throws UserNotFoundException se o usuário não existir
+     */
+    private UserIdentity resolveUser(String email) {
+        return userIdentityCache.resolve(email)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado para o e-mail: " + email));
-        return eventRepository.findByUser(user)
-                .stream()
-                .map(this::mapToEventResponse)
-                .toList();
+    }
+
+    /**
+     * Resolve a identidade do usuário autenticado. Quando o token já traz o id do usuário,
+     * nenhuma consulta é feita; caso contrário, recorre ao cache de identidades pelo e-mail.
+     *
+     * @param principal usuário autenticado
+     * @return identidade do usuário
+     * @throws UserNotFoundException se o usuário não existir
+     */
+    private UserIdentity resolveUser(AuthenticatedUser principal) {
+        if (principal.id() != null) {
+            return new UserIdentity(principal.id(), principal.email(), null);
+        }
+        return resolveUser(principal.email());
+    }
+
+    public List<EventResponse> listEvents(String email) {
+        return listEvents(new AuthenticatedUser(null, email));
+    }
+
+    /**
+     * Lista os eventos do usuário a partir do cache. Sem transação própria: um acerto no cache
+     * não ocupa conexão do pool, e só a carga em caso de falta executa a consulta no banco.
+     */
+    public List<EventResponse> listEvents(AuthenticatedUser principal) {
+        UserIdentity user = resolveUser(principal);
+        return eventListCache.get(user.id(), () -> eventRepository.findResponsesByUserId(user.id()));
+    }
+
+    /**
+     * Lista uma página de eventos do usuário, ordenada por data agendada, aplicando os filtros informados.
+     *
+     * @param principal          usuário autenticado
+     * @param filter             filtros da listagem
+     * @param cursor             cursor devolvido pela página anterior, ou {@code null} para a primeira
+     * @param limit              tamanho da página, limitado a {@value #MAX_PAGE_SIZE}
+     * @param includeDescription se a descrição deve ser lida e retornada
+     * @return página de eventos e o cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public EventPage listEvents(AuthenticatedUser principal, EventFilter filter, String cursor, int limit, boolean includeDescription) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser positivo.");
+        }
+        UserIdentity user = resolveUser(principal);
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        List<EventResponse> events = findPage(user.id(), filter, EventCursor.decode(cursor), pageSize + 1, includeDescription);
+        boolean hasNext = events.size() > pageSize;
+        List<EventResponse> pageEvents = hasNext ? events.subList(0, pageSize) : events;
+        String nextCursor = hasNext ? cursorAfter(pageEvents).encode() : null;
+        return new EventPage(List.copyOf(pageEvents), nextCursor);
+    }
+
+    /**
+     * Percorre todos os eventos do usuário que atendem aos filtros, página a página,
+     * entregando cada um ao {@code sink} assim que é lido. A memória usada fica limitada
+     * ao tamanho da página, independentemente do histórico do usuário.
+     *
+     * @param principal          usuário autenticado
+     * @param filter             filtros da listagem
+     * @param includeDescription se a descrição deve ser lida e retornada
+     * @param sink               consumidor de cada evento
+     * @return quantidade de eventos entregues
+     */
+    public long streamEvents(AuthenticatedUser principal, EventFilter filter, boolean includeDescription, Consumer<EventResponse> sink) {
+        UserIdentity user = resolveUser(principal);
+        long count = 0;
+        EventCursor cursor = null;
+        List<EventResponse> page;
+        do {
+            page = findPage(user.id(), filter, cursor, MAX_PAGE_SIZE, includeDescription);
+            page.forEach(sink);
+            count += page.size();
+            if (!page.isEmpty()) {
+                cursor = cursorAfter(page);
+            }
+        } while (page.size() == MAX_PAGE_SIZE);
+        return count;
+    }
+
+    /**
+     * Lista as ocorrências dos eventos do usuário dentro da janela, expandindo séries
+     * recorrentes apenas no intervalo solicitado.
+     *
+     * @param principal usuário autenticado
+     * @param from      início da janela (inclusivo)
+     * @param to        fim da janela (inclusivo), no máximo {@value #MAX_OCCURRENCE_WINDOW_DAYS} dias após o início
+     * @return ocorrências ordenadas por data, limitadas a {@value #MAX_OCCURRENCES}
+     */
+    @Transactional(readOnly = true)
+    public List<EventOccurrence> listOccurrences(AuthenticatedUser principal, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Informe uma janela válida (from/to) para listar ocorrências.");
+        }
+        if (from.plusDays(MAX_OCCURRENCE_WINDOW_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("A janela de ocorrências não pode exceder " + MAX_OCCURRENCE_WINDOW_DAYS + " dias.");
+        }
+        UserIdentity user = resolveUser(principal);
+        List<EventOccurrence> occurrences = new ArrayList<>();
+        for (Event event : eventRepository.findOccurrenceCandidates(user.id(), from, to)) {
+            if (event.getRecurrenceRule() == null) {
+                occurrences.add(new EventOccurrence(event.getId(), event.getTitle(), event.getType(), event.getScheduledFor(), event.isNotified()));
+            } else {
+                expandSeries(event, from, to, occurrences);
+            }
+            if (occurrences.size() >= MAX_OCCURRENCES) {
+                break;
+            }
+        }
+        occurrences.sort(Comparator.comparing(EventOccurrence::occursAt).thenComparing(EventOccurrence::eventId));
+        return occurrences.size() > MAX_OCCURRENCES ? List.copyOf(occurrences.subList(0, MAX_OCCURRENCES)) : occurrences;
+    }
+
+    private void expandSeries(Event event, LocalDateTime from, LocalDateTime to, List<EventOccurrence> occurrences) {
+        RecurrenceRule rule;
+        try {
+            rule = RecurrenceRule.parse(event.getRecurrenceRule());
+        } catch (IllegalArgumentException e) {
+            log.warn("Regra de recorrência inválida no evento [{}]: {}", event.getId(), e.getMessage());
+            return;
+        }
+        LocalDateTime start = event.getSeriesStart() != null ? event.getSeriesStart() : event.getScheduledFor();
+        for (long index = rule.firstIndexAtOrAfter(start, from); occurrences.size() < MAX_OCCURRENCES; index++) {
+            Optional<LocalDateTime> occursAt = rule.occurrence(start, index);
+            if (occursAt.isEmpty() || occursAt.get().isAfter(to)) {
+                return;
+            }
+            boolean notified = event.isNotified() || index < event.getOccurrenceIndex();
+            occurrences.add(new EventOccurrence(event.getId(), event.getTitle(), event.getType(), occursAt.get(), notified));
+        }
+    }
+
+    private List<EventResponse> findPage(Long userId, EventFilter filter, EventCursor cursor, int limit, boolean includeDescription) {
+        EventFilter criteria = filter == null ? EventFilter.none() : filter;
+        LocalDateTime afterScheduledFor = cursor == null ? null : cursor.scheduledFor();
+        Long afterId = cursor == null ? null : cursor.id();
+        if (includeDescription) {
+            return eventRepository.findUserEventsPage(userId, criteria.from(), criteria.to(), criteria.type(),
+                    criteria.notified(), afterScheduledFor, afterId, Limit.of(limit));
+        }
+        return eventRepository.findUserEventSummariesPage(userId, criteria.from(), criteria.to(), criteria.type(),
+                criteria.notified(), afterScheduledFor, afterId, Limit.of(limit));
+    }
+
+    private static EventCursor cursorAfter(List<EventResponse> page) {
+        EventResponse last = page.get(page.size() - 1);
+        return new EventCursor(last.scheduledFor(), last.id());
     }
 
     public EventResponse updateEvent(Long eventId, String userEmail, EventRequest request) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado para o e-mail: " + userEmail));
+        return updateEvent(eventId, new AuthenticatedUser(null, userEmail), request);
+    }
+
+    public EventResponse updateEvent(Long eventId, AuthenticatedUser principal, EventRequest request) {
+        UserIdentity user = resolveUser(principal);
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException("Evento não encontrado para o id: " + eventId));
         checkUserAuthorization(event, user);
         updateEventFields(event, request);
-        log.info("📝 Evento [{}] atualizado pelo usuário [{}]", event.getTitle(), user.getEmail());
+        log.info("📝 Evento [{}] atualizado pelo usuário [{}]", event.getTitle(), user.email());
         eventRepository.save(event);
+        if (event.isNotified()) {
+            eventTimingWheel.cancel(event.getId());
+        } else {
+            eventTimingWheel.schedule(event.getId(), event.getScheduledFor());
+        }
+        eventListCache.invalidate(user.id());
         return mapToEventResponse(event);
     }
 
-    private void checkUserAuthorization(Event event, User user) {
-        if (!event.getUser().getId().equals(user.getId())) {
+    private void checkUserAuthorization(Event event, UserIdentity user) {
+        if (!event.getUser().getId().equals(user.id())) {
             throw new UnauthorizedEventAccessException("Usuário não autorizado a acessar este evento");
         }
     }
@@ -96,20 +401,58 @@ public class EventService {
         event.setDescription(request.description());
         event.setType(request.type());
         event.setScheduledFor(request.scheduledFor());
+        if (request.recurrence() != null || event.getRecurrenceRule() != null) {
+            event.setNotified(false);
+            applyRecurrence(event, request.recurrence());
+        }
         event.setUpdatedAt(LocalDateTime.now());
     }
 
+    /**
+     * Define (ou remove) a regra de recorrência do evento, iniciando a série em
+     * {@code scheduledFor}. Ocorrências já passadas não são notificadas: a série começa
+     * na primeira ocorrência futura e, se já tiver terminado, é marcada como notificada.
+     *
+     * @throws IllegalArgumentException se a regra for inválida
+     */
+    private static void applyRecurrence(Event event, String recurrence) {
+        event.setOccurrenceIndex(0);
+        if (recurrence == null || recurrence.isBlank()) {
+            event.setRecurrenceRule(null);
+            event.setSeriesStart(null);
+            return;
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(recurrence);
+        LocalDateTime start = event.getScheduledFor();
+        long index = rule.firstIndexAtOrAfter(start, LocalDateTime.now());
+        Optional<LocalDateTime> next = index <= Integer.MAX_VALUE ? rule.occurrence(start, index) : Optional.empty();
+        event.setRecurrenceRule(rule.format());
+        event.setSeriesStart(start);
+        if (next.isPresent()) {
+            event.setScheduledFor(next.get());
+            event.setOccurrenceIndex((int) index);
+        } else {
+            event.setNotified(true);
+        }
+    }
+
     public void deleteEvent(Long eventId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail).orElseThrow(UserNotFoundException::new);
+        deleteEvent(eventId, new AuthenticatedUser(null, userEmail));
+    }
+
+    public void deleteEvent(Long eventId, AuthenticatedUser principal) {
+        UserIdentity user = resolveUser(principal);
 
         Event event = eventRepository.findById(eventId).orElseThrow(EventNotFoundException::new);
 
-        if (!event.getUser().getId().equals(user.getId())) {
+        if (!event.getUser().getId().equals(user.id())) {
             throw new UnauthorizedEventAccessException();
         }
 
         eventRepository.delete(event);
-        log.info("🗑️ Evento [{}] excluído pelo usuário [{}]", event.getTitle(), user.getEmail());
+        eventTimingWheel.cancel(event.getId());
+        eventListCache.invalidate(user.id());
+        log.info("🗑️ Evento [{}] excluído pelo usuário [{}]", event.getTitle(), user.email());
     }
 
 }
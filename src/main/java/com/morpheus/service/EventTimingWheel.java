@@ -0,0 +1,173 @@
+package com.morpheus.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo (hashed timing wheel) em memória para disparo preciso de eventos.
+ * Cada evento é registrado no balde correspondente ao seu horário; a cada tick apenas
+ * o balde atual é inspecionado, de modo que inserção, remoção e disparo custam O(1).
+ * Eventos além do horizonte configurado são ignorados e ficam a cargo da varredura
+ * de reconciliação do {@link EventSchedulerService}.
+ */
+@Slf4j
+@Component
+public class EventTimingWheel {
+
+    private final long tickMillis;
+    private final long horizonMillis;
+    private final List<Set<Long>> buckets;
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    private volatile long lastProcessedTick;
+    private volatile Consumer<Collection<Long>> expirationHandler;
+    private ScheduledExecutorService ticker;
+
+    public EventTimingWheel(@Value("${morpheus.scheduler.wheel.tick-millis:100}") long tickMillis,
+                            @Value("${morpheus.scheduler.wheel.size:512}") int wheelSize,
+                            @Value("${morpheus.scheduler.wheel.horizon.minutes:10}") long horizonMinutes) {
+        if (tickMillis <= 0 || wheelSize <= 0 || horizonMinutes <= 0) {
+            throw new IllegalArgumentException("Configuração inválida para a roda de tempo do agendador.");
+        }
+        this.tickMillis = tickMillis;
+        this.horizonMillis = TimeUnit.MINUTES.toMillis(horizonMinutes);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Inicia o ticker da roda. Os ids vencidos em cada tick são entregues ao handler informado.
+     *
+     * @param handler consumidor dos ids de eventos vencidos
+     */
+    public synchronized void start(Consumer<Collection<Long>> handler) {
+        if (ticker != null) {
+            return;
+        }
+        this.expirationHandler = handler;
+        this.lastProcessedTick = System.currentTimeMillis() / tickMillis;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morpheus-timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Roda de tempo iniciada com tick de {} ms e {} baldes.", tickMillis, buckets.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        deadlines.clear();
+        buckets.forEach(Set::clear);
+    }
+
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Agenda (ou reagenda) o disparo do evento. Eventos além do horizonte são ignorados.
+     *
+     * @param eventId      id do evento
+     * @param scheduledFor horário de disparo
+     * @return {@code true} se o evento foi registrado na roda
+     */
+    public boolean schedule(Long eventId, LocalDateTime scheduledFor) {
+        if (!isRunning() || eventId == null || scheduledFor == null) {
+            return false;
+        }
+        long deadline = toEpochMillis(scheduledFor);
+        if (deadline - System.currentTimeMillis() > horizonMillis) {
+            cancel(eventId);
+            return false;
+        }
+        long tick = Math.max(deadline / tickMillis, lastProcessedTick + 1);
+        deadlines.put(eventId, deadline);
+        buckets.get(bucketIndex(tick)).add(eventId);
+        return true;
+    }
+
+    /**
+     * Remove o evento da roda, caso esteja agendado.
+     *
+     * @param eventId id do evento
+     */
+    public void cancel(Long eventId) {
+        if (eventId != null) {
+            deadlines.remove(eventId);
+        }
+    }
+
+    public boolean isScheduled(Long eventId) {
+        return eventId != null && deadlines.containsKey(eventId);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    public long getHorizonMillis() {
+        return horizonMillis;
+    }
+
+    void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long currentTick = now / tickMillis;
+            List<Long> expired = new ArrayList<>();
+            for (long tick = lastProcessedTick + 1; tick <= currentTick; tick++) {
+                collectExpired(buckets.get(bucketIndex(tick)), tick, now, expired);
+                lastProcessedTick = tick;
+            }
+            if (!expired.isEmpty()) {
+                expirationHandler.accept(expired);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao avançar a roda de tempo: {}", e.getMessage(), e);
+        }
+    }
+
+    private void collectExpired(Set<Long> bucket, long tick, long now, List<Long> expired) {
+        for (Long eventId : bucket) {
+            Long deadline = deadlines.get(eventId);
+            if (deadline == null || bucketIndex(Math.max(deadline / tickMillis, tick)) != bucketIndex(tick)) {
+                // Cancelado ou reagendado para outro balde.
+                bucket.remove(eventId);
+            } else if (deadline <= now) {
+                bucket.remove(eventId);
+                if (deadlines.remove(eventId, deadline)) {
+                    expired.add(eventId);
+                }
+            }
+        }
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) (tick % buckets.size());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,141 @@
+package com.morpheus.service;
+
+import com.morpheus.model.enums.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Regra de recorrência no formato RRULE (subconjunto: {@code FREQ}, {@code INTERVAL},
+ * {@code COUNT} e {@code UNTIL}), por exemplo {@code FREQ=YEARLY} ou
+ * {@code FREQ=DAILY;INTERVAL=2;COUNT=10}.
+ * A n-ésima ocorrência é sempre calculada a partir do início da série
+ * ({@code início + n × intervalo}), em tempo constante e sem acumular desvios de fim de mês.
+ *
+ * @param frequency frequência da série
+ * @param interval  intervalo entre ocorrências, em unidades da frequência
+ * @param count     quantidade máxima de ocorrências, ou {@code null} se ilimitada
+ * @param until     última data permitida para uma ocorrência, ou {@code null} se ilimitada
+ */
+public record RecurrenceRule(RecurrenceFrequency frequency, int interval, Integer count, LocalDateTime until) {
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public RecurrenceRule {
+        if (frequency == null) {
+            throw new IllegalArgumentException("A regra de recorrência deve informar FREQ.");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("INTERVAL deve ser positivo.");
+        }
+        if (count != null && count <= 0) {
+            throw new IllegalArgumentException("COUNT deve ser positivo.");
+        }
+    }
+
+    /**
+     * Interpreta uma regra RRULE.
+     *
+     * @param rule regra, com ou sem o prefixo {@code RRULE:}
+     * @return regra interpretada
+     * @throws IllegalArgumentException se a regra for inválida ou usar partes não suportadas
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Regra de recorrência vazia.");
+        }
+        String body = rule.trim();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+        RecurrenceFrequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        try {
+            for (String part : body.split(";")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                String[] keyValue = part.split("=", 2);
+                if (keyValue.length != 2) {
+                    throw new IllegalArgumentException("Parte inválida na regra de recorrência: " + part);
+                }
+                String value = keyValue[1].trim();
+                switch (keyValue[0].trim().toUpperCase(Locale.ROOT)) {
+                    case "FREQ" -> frequency = RecurrenceFrequency.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = parseUntil(value);
+                    default -> throw new IllegalArgumentException("Parte não suportada na regra de recorrência: " + keyValue[0]);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL inválido na regra de recorrência: " + rule);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT e UNTIL não podem ser usados juntos.");
+        }
+        return new RecurrenceRule(frequency, interval, count, until);
+    }
+
+    /**
+     * @return regra no formato RRULE canônico
+     */
+    public String format() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * Calcula a ocorrência de índice {@code index} (0 = início da série).
+     *
+     * @return data da ocorrência, ou vazio se a série terminar antes dela
+     */
+    public Optional<LocalDateTime> occurrence(LocalDateTime start, long index) {
+        if (index < 0 || (count != null && index >= count)) {
+            return Optional.empty();
+        }
+        LocalDateTime occurrence = start.plus(index * interval, frequency.getUnit());
+        if (until != null && occurrence.isAfter(until)) {
+            return Optional.empty();
+        }
+        return Optional.of(occurrence);
+    }
+
+    /**
+     * Índice da primeira ocorrência em ou após {@code instant}, calculado em tempo constante.
+     * O índice pode estar além do fim da série; use {@link #occurrence} para verificá-lo.
+     */
+    public long firstIndexAtOrAfter(LocalDateTime start, LocalDateTime instant) {
+        if (!instant.isAfter(start)) {
+            return 0;
+        }
+        long index = frequency.getUnit().between(start, instant) / interval;
+        while (start.plus(index * interval, frequency.getUnit()).isBefore(instant)) {
+            index++;
+        }
+        return index;
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        if (value.length() == 8) {
+            return LocalDate.parse(value, UNTIL_DATE_FORMAT).atTime(23, 59, 59);
+        }
+        return LocalDateTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value, UNTIL_FORMAT);
+    }
+}
@@ -0,0 +1,181 @@
+package com.morpheus.service;
+
+import com.morpheus.config.JwtProperties;
+import com.morpheus.exception.InvalidRefreshTokenException;
+import com.morpheus.model.entity.RefreshToken;
+import com.morpheus.model.entity.User;
+import com.morpheus.repository.RefreshTokenRepository;
+import com.morpheus.security.TokenRevocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Emite e rotaciona refresh tokens opacos. O token entregue ao cliente é {@code <id>.<segredo>}:
+ * o id aleatório é a chave primária da busca e apenas o SHA-256 do segredo é armazenado. Como o
+ * segredo tem 256 bits de entropia, um hash rápido basta e a renovação do access token não
+ * passa pelo BCrypt.
+ * <p>
+ * Cada uso rotaciona o token: o atual é revogado e um sucessor da mesma cadeia é emitido.
+ * A apresentação de um token já rotacionado indica vazamento: a cadeia inteira é revogada,
+ * assim como os access tokens já emitidos para o usuário. Um token revogado por logout
+ * (sem sucessor) é apenas recusado.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int ID_BYTES = 16;
+    private static final int SECRET_BYTES = 32;
+    private static final char SEPARATOR = '.';
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final long expirationSeconds;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationService tokenRevocationService,
+                               JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.expirationSeconds = jwtProperties.getRefresh().getExpiration();
+        if (expirationSeconds <= 0) {
+            throw new IllegalArgumentException("A validade do refresh token deve ser positiva.");
+        }
+    }
+
+    /**
+     * Emite o primeiro refresh token de uma nova cadeia, após um login com senha.
+     *
+     * @return token a ser entregue ao cliente
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, randomId(), LocalDateTime.now()).rawToken();
+    }
+
+    /**
+     * Consome o refresh token e emite o seu sucessor.
+     *
+     * @param rawToken token apresentado pelo cliente
+     * @return usuário dono do token e o novo refresh token
+     * @throws InvalidRefreshTokenException se o token for desconhecido, expirado, revogado ou já usado
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = find(rawToken);
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null && current.getReplacedBy() == null) {
+            throw new InvalidRefreshTokenException();
+        }
+        if (current.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            tokenRevocationService.revokeUser(current.getUser().getId());
+            log.warn("Reuso de refresh token já rotacionado do usuário [{}]; {} token(s) da cadeia revogado(s).",
+                    current.getUser().getId(), revoked);
+            throw new InvalidRefreshTokenException();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+        Issued successor = create(current.getUser(), current.getFamilyId(), now);
+        current.setRevokedAt(now);
+        current.setReplacedBy(successor.id());
+        return new Rotation(current.getUser(), successor.rawToken());
+    }
+
+    /**
+     * Revoga a cadeia do refresh token apresentado (logout da sessão). Tokens desconhecidos são ignorados.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        try {
+            RefreshToken current = find(rawToken);
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+        } catch (InvalidRefreshTokenException e) {
+            log.debug("Refresh token inválido ignorado no logout.");
+        }
+    }
+
+    /**
+     * Revoga todos os refresh tokens do usuário (logout de todas as sessões).
+     *
+     * @return quantidade de tokens revogados
+     */
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeByUser(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${morpheus.jwt.refresh.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        log.info("Refresh tokens expirados removidos: {}", purged);
+    }
+
+    private RefreshToken find(String rawToken) {
+        int separator = rawToken == null ? -1 : rawToken.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == rawToken.length() - 1) {
+            throw new InvalidRefreshTokenException();
+        }
+        RefreshToken token = refreshTokenRepository.findForRotation(rawToken.substring(0, separator))
+                .orElseThrow(InvalidRefreshTokenException::new);
+        byte[] presented = sha256(rawToken.substring(separator + 1)).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(presented, token.getTokenHash().getBytes(StandardCharsets.US_ASCII))) {
+            throw new InvalidRefreshTokenException();
+        }
+        return token;
+    }
+
+    private Issued create(User user, String familyId, LocalDateTime now) {
+        String id = randomId();
+        String secret = randomToken(SECRET_BYTES);
+        RefreshToken token = new RefreshToken();
+        token.setId(id);
+        token.setUser(user);
+        token.setFamilyId(familyId);
+        token.setTokenHash(sha256(secret));
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusSeconds(expirationSeconds));
+        refreshTokenRepository.save(token);
+        return new Issued(id, id + SEPARATOR + secret);
+    }
+
+    private String randomId() {
+        return randomToken(ID_BYTES);
+    }
+
+    private String randomToken(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Resultado de uma rotação: o dono do token e o refresh token sucessor.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    private record Issued(String id, String rawToken) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.morpheus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.morpheus.dto.UserIdentity;
+import com.morpheus.model.entity.User;
+import com.morpheus.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache limitado da resolução e-mail → identidade do usuário (id, e-mail e nome).
+ * Evita uma consulta à tabela {@code users} por requisição apenas para descobrir o id
+ * do usuário autenticado. É populado no login e no registro; e-mails inexistentes não
+ * são armazenados.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${morpheus.cache.identity.max-users:50000}") long maxUsers,
+                             @Value("${morpheus.cache.identity.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Resolve a identidade do usuário pelo e-mail, consultando o banco apenas em caso de ausência.
+     *
+     * @param email e-mail do usuário
+     * @return identidade do usuário, se existir
+     */
+    public Optional<UserIdentity> resolve(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        UserIdentity cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByEmail(email).map(this::put);
+    }
+
+    /**
+     * Registra (ou atualiza) a identidade do usuário no cache.
+     *
+     * @param user usuário persistido
+     * @return identidade armazenada
+     */
+    public UserIdentity put(User user) {
+        UserIdentity identity = new UserIdentity(user.getId(), user.getEmail(), user.getName());
+        cache.put(user.getEmail(), identity);
+        return identity;
+    }
+
+    /**
+     * Remove a identidade do cache; deve ser chamado sempre que os dados do usuário mudarem.
+     *
+     * @param email e-mail do usuário
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE notification_stream (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT,
+    event_ids TEXT NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_notification_stream_recipient ON notification_stream (recipient, id);
+CREATE INDEX idx_notification_stream_created ON notification_stream (created_at);
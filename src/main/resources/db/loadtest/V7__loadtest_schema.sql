@@ -0,0 +1,54 @@
+-- Esquema consolidado (equivalente a db/migration V1..V7) para o H2 do perfil loadtest.
+-- As migrações de produção usam sintaxe de ALTER TABLE exclusiva do MySQL; novas
+-- migrações que alterem o esquema devem ser refletidas aqui com a versão correspondente.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE TABLE events (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    type VARCHAR(50) NOT NULL,
+    scheduled_for DATETIME NOT NULL,
+    notified BOOLEAN NOT NULL DEFAULT false,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    claimed_by VARCHAR(100) NULL,
+    claimed_until DATETIME NULL,
+    recurrence_rule VARCHAR(200),
+    series_start DATETIME,
+    occurrence_index INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_event_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE INDEX idx_events_pending ON events (notified, scheduled_for, id);
+CREATE INDEX idx_events_user_schedule ON events (user_id, scheduled_for, id);
+
+CREATE TABLE event_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    occurrence_at DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME NOT NULL,
+    delivered_at DATETIME,
+    CONSTRAINT uk_event_outbox_occurrence UNIQUE (event_id, occurrence_at),
+    CONSTRAINT fk_event_outbox_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_event_outbox_pending ON event_outbox (status, next_attempt_at, id);
+
+CREATE TABLE scheduler_checkpoints (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    high_water_mark DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL
+);
@@ -0,0 +1,7 @@
+CREATE TABLE revoked_tokens (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    revoked_at DATETIME NOT NULL,
+    expires_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
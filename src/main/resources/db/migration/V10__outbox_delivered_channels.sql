@@ -0,0 +1 @@
+ALTER TABLE event_outbox ADD COLUMN delivered_channels VARCHAR(255);
@@ -0,0 +1 @@
+CREATE INDEX idx_events_pending ON events (notified, scheduled_for, id);
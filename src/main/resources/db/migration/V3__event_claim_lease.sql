@@ -0,0 +1,3 @@
+ALTER TABLE events
+    ADD COLUMN claimed_by VARCHAR(100) NULL,
+    ADD COLUMN claimed_until DATETIME NULL;
@@ -0,0 +1,14 @@
+CREATE TABLE event_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME NOT NULL,
+    delivered_at DATETIME,
+    CONSTRAINT uk_event_outbox_event UNIQUE (event_id),
+    CONSTRAINT fk_event_outbox_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_event_outbox_pending ON event_outbox (status, next_attempt_at, id);
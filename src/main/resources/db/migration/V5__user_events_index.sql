@@ -0,0 +1 @@
+CREATE INDEX idx_events_user_schedule ON events (user_id, scheduled_for, id);
@@ -0,0 +1,14 @@
+ALTER TABLE events
+    ADD COLUMN recurrence_rule VARCHAR(200),
+    ADD COLUMN series_start DATETIME,
+    ADD COLUMN occurrence_index INT NOT NULL DEFAULT 0;
+
+ALTER TABLE event_outbox ADD COLUMN occurrence_at DATETIME;
+
+UPDATE event_outbox o JOIN events e ON e.id = o.event_id SET o.occurrence_at = e.scheduled_for;
+
+ALTER TABLE event_outbox MODIFY occurrence_at DATETIME NOT NULL;
+
+CREATE UNIQUE INDEX uk_event_outbox_occurrence ON event_outbox (event_id, occurrence_at);
+
+ALTER TABLE event_outbox DROP INDEX uk_event_outbox_event;
@@ -0,0 +1,5 @@
+CREATE TABLE scheduler_checkpoints (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    high_water_mark DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL
+);
@@ -0,0 +1,118 @@
+package com.morpheus.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseBulkheadFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve recusar com 503 quando todas as permissões estiverem ocupadas")
+    void rejectsWhenSaturated() throws Exception {
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(registry, 1, 50);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> {
+                filter.doFilter(request("/events"), new MockHttpServletResponse(), slowChain);
+                return null;
+            });
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(request("/events/page"), rejected, chain);
+
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+            verifyNoInteractions(chain);
+            assertEquals(1.0, registry.get("morpheus.web.bulkhead.rejected").counter().count());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(1.0, registry.get("morpheus.web.bulkhead.available").gauge().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve liberar a permissão mesmo quando a requisição falha")
+    void releasesOnFailure() throws Exception {
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(registry, 1, 50);
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("falha");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("/events"), new MockHttpServletResponse(), failing));
+
+        FilterChain chain = mock(FilterChain.class);
+        filter.doFilter(request("/events"), new MockHttpServletResponse(), chain);
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve manter a permissão até o fim do processamento assíncrono")
+    void holdsPermitUntilAsyncCompletes() throws Exception {
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(registry, 1, 0);
+        MockHttpServletRequest streaming = request("/events/export");
+        streaming.setAsyncSupported(true);
+        FilterChain asyncChain = (request, response) -> request.startAsync();
+
+        filter.doFilter(streaming, new MockHttpServletResponse(), asyncChain);
+
+        assertEquals(0.0, registry.get("morpheus.web.bulkhead.available").gauge().value());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/events"), rejected, mock(FilterChain.class));
+        assertEquals(503, rejected.getStatus());
+
+        streaming.getAsyncContext().complete();
+
+        assertEquals(1.0, registry.get("morpheus.web.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve limitar rotas fora de /events")
+    void ignoresOtherPaths() throws Exception {
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(registry, 1, 0);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("/auth/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("/eventsx"), new MockHttpServletResponse(), chain);
+
+        verify(chain, times(2)).doFilter(any(), any());
+        assertEquals(0, registry.get("morpheus.web.bulkhead.wait").timer().count());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        return request;
+    }
+}
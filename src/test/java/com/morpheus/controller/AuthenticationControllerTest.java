@@ -2,13 +2,16 @@ package com.morpheus.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.morpheus.dto.LoginRequest;
+import com.morpheus.dto.RefreshRequest;
 import com.morpheus.dto.RegisterRequest;
 import com.morpheus.dto.TokenResponse;
+import com.morpheus.exception.InvalidRefreshTokenException;
 import com.morpheus.service.AuthenticationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
@@ -20,6 +23,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthenticationController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class AuthenticationControllerTest {
 
     @Autowired
@@ -47,6 +51,51 @@ class AuthenticationControllerTest {
                 .andReturn();
     }
 
+    @Test
+    @DisplayName("Deve renovar o token com refresh token")
+    void refresh() throws Exception {
+        TokenResponse tokenResponse = new TokenResponse("novo-jwt", "novo-refresh");
+        Mockito.when(authenticationService.refresh(any(RefreshRequest.class))).thenReturn(tokenResponse);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-atual"))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(tokenResponse)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 401 para refresh token inválido")
+    void refresh_invalid() throws Exception {
+        Mockito.when(authenticationService.refresh(any(RefreshRequest.class))).thenThrow(new InvalidRefreshTokenException());
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("invalido"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a sessão revogando os tokens informados")
+    void logout() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer jwt-atual")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-atual"))))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(authenticationService).logout("jwt-atual", "refresh-atual", false);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar todas as sessões sem corpo na requisição")
+    void logout_all() throws Exception {
+        mockMvc.perform(post("/auth/logout").param("all", "true").header("Authorization", "Bearer jwt-atual"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(authenticationService).logout("jwt-atual", null, true);
+    }
+
     @Test
     @DisplayName("Deve registrar usuário e retornar mensagem de sucesso")
     void register() throws Exception {
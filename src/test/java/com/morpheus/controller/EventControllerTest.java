@@ -1,29 +1,41 @@
 package com.morpheus.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.morpheus.dto.EventFilter;
+import com.morpheus.dto.EventImportResponse;
+import com.morpheus.dto.EventPage;
 import com.morpheus.dto.EventRequest;
 import com.morpheus.dto.EventResponse;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.notification.EventStreamRegistry;
+import com.morpheus.security.AuthenticatedUser;
 import com.morpheus.service.EventService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @WebMvcTest(EventController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class EventControllerTest {
 
     @Autowired
@@ -32,6 +44,9 @@ class EventControllerTest {
     @org.springframework.test.context.bean.override.mockito.MockitoBean("eventService")
     private EventService eventService;
 
+    @org.springframework.test.context.bean.override.mockito.MockitoBean("eventStreamRegistry")
+    private EventStreamRegistry eventStreamRegistry;
+
     @org.springframework.test.context.bean.override.mockito.MockitoBean("authentication")
     private Authentication authentication;
 
@@ -44,7 +59,7 @@ class EventControllerTest {
         EventResponse eventResponse = new EventResponse(1L, "Evento Teste", "Descrição teste", null, null, false);
         List<EventResponse> events = Collections.singletonList(eventResponse);
         Mockito.when(authentication.getPrincipal()).thenReturn("user@email.com");
-        Mockito.when(eventService.listEvents("user@email.com")).thenReturn(events);
+        Mockito.when(eventService.listEvents(new AuthenticatedUser(null, "user@email.com"))).thenReturn(events);
 
         org.springframework.test.web.servlet.MvcResult result = mockMvc
                 .perform(get("/events").principal(authentication))
@@ -60,7 +75,7 @@ class EventControllerTest {
         EventRequest eventRequest = new EventRequest("Evento Teste", "Descrição teste", null, null);
         EventResponse eventResponse = new EventResponse(1L, "Evento Teste", "Descrição teste", null, null, false);
         Mockito.when(authentication.getPrincipal()).thenReturn("user@email.com");
-        Mockito.when(eventService.createEvent(eq("user@email.com"), any(EventRequest.class))).thenReturn(eventResponse);
+        Mockito.when(eventService.createEvent(eq(new AuthenticatedUser(null, "user@email.com")), any(EventRequest.class))).thenReturn(eventResponse);
 
         org.springframework.test.web.servlet.MvcResult result = mockMvc
                 .perform(post("/events")
@@ -72,4 +87,151 @@ class EventControllerTest {
 
         assertEquals(objectMapper.writeValueAsString(eventResponse), result.getResponse().getContentAsString());
     }
+
+    @Test
+    @DisplayName("Deve listar página de eventos com filtros")
+    void listEventsPage() throws Exception {
+        EventResponse eventResponse = new EventResponse(1L, "Evento Teste", "Descrição teste", EventType.MEETING, null, false);
+        EventPage page = new EventPage(List.of(eventResponse), "next");
+        EventFilter filter = new EventFilter(LocalDateTime.of(2025, 1, 1, 0, 0), null, EventType.MEETING, false);
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventService.listEvents(new AuthenticatedUser(1L, "user@email.com"), filter, "abc", 20, true)).thenReturn(page);
+
+        org.springframework.test.web.servlet.MvcResult result = mockMvc
+                .perform(get("/events/page")
+                        .principal(authentication)
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("type", "MEETING")
+                        .param("notified", "false")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(page), result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo invertido na listagem paginada")
+    void listEventsPage_invalidRange() throws Exception {
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+
+        mockMvc.perform(get("/events/page")
+                        .principal(authentication)
+                        .param("from", "2025-02-01T00:00:00")
+                        .param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve exportar eventos em NDJSON")
+    void streamEvents() throws Exception {
+        EventResponse first = new EventResponse(1L, "Primeiro", null, EventType.TASK, null, false);
+        EventResponse second = new EventResponse(2L, "Segundo", null, EventType.TASK, null, true);
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventService.streamEvents(eq(new AuthenticatedUser(1L, "user@email.com")), eq(EventFilter.none()), eq(false), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<EventResponse> sink = invocation.getArgument(3);
+                    sink.accept(first);
+                    sink.accept(second);
+                    return 2L;
+                });
+
+        org.springframework.test.web.servlet.MvcResult asyncResult = mockMvc
+                .perform(get("/events").principal(authentication).param("includeDescription", "false").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        org.springframework.test.web.servlet.MvcResult result = mockMvc
+                .perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n",
+                result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve importar eventos a partir de array JSON")
+    void importEvents_jsonArray() throws Exception {
+        List<EventRequest> requests = List.of(
+                new EventRequest("Primeiro", null, EventType.TASK, LocalDateTime.of(2030, 1, 1, 9, 0)),
+                new EventRequest("Segundo", null, EventType.TASK, LocalDateTime.of(2030, 1, 2, 9, 0)));
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventService.importEvents(eq(new AuthenticatedUser(1L, "user@email.com")), any())).thenReturn(2);
+
+        org.springframework.test.web.servlet.MvcResult result = mockMvc
+                .perform(post("/events/batch")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(new EventImportResponse(2)), result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve importar eventos a partir de NDJSON")
+    void importEvents_ndjson() throws Exception {
+        EventRequest first = new EventRequest("Primeiro", null, EventType.TASK, LocalDateTime.of(2030, 1, 1, 9, 0));
+        EventRequest second = new EventRequest("Segundo", "Descrição", EventType.MEETING, LocalDateTime.of(2030, 1, 2, 9, 0));
+        List<EventRequest> received = new java.util.ArrayList<>();
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventService.importEvents(eq(new AuthenticatedUser(1L, "user@email.com")), any()))
+                .thenAnswer(invocation -> {
+                    java.util.Iterator<EventRequest> iterator = invocation.getArgument(1);
+                    iterator.forEachRemaining(received::add);
+                    return received.size();
+                });
+
+        mockMvc.perform(post("/events/batch")
+                        .principal(authentication)
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n"))
+                .andExpect(status().isCreated());
+
+        assertEquals(List.of(first, second), received);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar NDJSON malformado")
+    void importEvents_malformedNdjson() throws Exception {
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventService.importEvents(eq(new AuthenticatedUser(1L, "user@email.com")), any()))
+                .thenAnswer(invocation -> {
+                    java.util.Iterator<EventRequest> iterator = invocation.getArgument(1);
+                    iterator.forEachRemaining(request -> { });
+                    return 0;
+                });
+
+        mockMvc.perform(post("/events/batch")
+                        .principal(authentication)
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\": \"ok\"}\n{quebrado"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o stream SSE retomando do último id recebido")
+    void streamNotifications() throws Exception {
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventStreamRegistry.subscribe("user@email.com", 42L)).thenReturn(new org.springframework.web.servlet.mvc.method.annotation.SseEmitter());
+
+        mockMvc.perform(get("/events/stream").principal(authentication).header("Last-Event-ID", "42").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(eventStreamRegistry).subscribe("user@email.com", 42L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar Last-Event-ID inválido ao abrir o stream SSE")
+    void streamNotifications_invalidLastEventId() throws Exception {
+        Mockito.when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "user@email.com"));
+        Mockito.when(eventStreamRegistry.subscribe("user@email.com", null)).thenReturn(new org.springframework.web.servlet.mvc.method.annotation.SseEmitter());
+
+        mockMvc.perform(get("/events/stream").principal(authentication).header("Last-Event-ID", "abc").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(eventStreamRegistry).subscribe("user@email.com", null);
+    }
 }
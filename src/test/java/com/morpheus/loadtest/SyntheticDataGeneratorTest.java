@@ -0,0 +1,38 @@
+package com.morpheus.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação no perfil {@code loadtest} com H2 em memória, validando o esquema
+ * consolidado contra as entidades e a geração de dados sintéticos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "morpheus.scheduler.enabled=false",
+        "morpheus.loadtest.driver.enabled=false",
+        "morpheus.loadtest.generate.users=5",
+        "morpheus.loadtest.generate.events-per-user=20"
+})
+@ActiveProfiles("loadtest")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void run_populatesUsersAndEvents() {
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals(100, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE notified = true", Integer.class) > 0);
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE notified = false", Integer.class) > 0);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, SyntheticDataGenerator.email(0)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.morpheus.metrics;
+
+import com.morpheus.repository.UserRepository;
+import com.morpheus.service.EventListCache;
+import com.morpheus.service.UserIdentityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CacheMetricsBinderTest {
+
+    @Test
+    void bindTo_publishesHitsMissesAndSizePerCache() {
+        EventListCache eventListCache = new EventListCache(100, 60);
+        UserIdentityCache userIdentityCache = new UserIdentityCache(mock(UserRepository.class), 100, 60);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsBinder(eventListCache, userIdentityCache).bindTo(registry);
+
+        eventListCache.get(1L, List::of);
+        eventListCache.get(1L, List::of);
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "events", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "events", "result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tag("cache", "events").gauge().value());
+        assertEquals(0, registry.get("cache.size").tag("cache", "identity").gauge().value());
+    }
+}
@@ -0,0 +1,326 @@
+package com.morpheus.notification;
+
+import com.morpheus.model.entity.NotificationStreamEntry;
+import com.morpheus.repository.NotificationStreamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventStreamRegistryTest {
+
+    private static final String USER = "user@email.com";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryStream store = new InMemoryStream();
+    private EventStreamRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void publish_deliversToOpenConnectionsOfRecipientOnly() throws Exception {
+        registry = registry(64, 100, 5);
+        CapturingEmitter mine = subscribe(USER, null);
+        CapturingEmitter other = subscribe("outro@email.com", null);
+
+        registry.publish(notifications(USER, "Reunião", 1L));
+
+        await(() -> mine.notifications().size() == 1);
+        EventStreamRegistry.StreamMessage message = mine.notifications().get(0);
+        assertEquals("Reunião", message.subject());
+        assertEquals(List.of(1L), message.eventIds());
+        assertTrue(mine.text().contains("id:" + message.id()));
+        assertTrue(mine.text().contains("event:" + EventStreamRegistry.NOTIFICATION_EVENT));
+        assertTrue(other.notifications().isEmpty());
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysOnlyLaterMessages() throws Exception {
+        registry = registry(64, 100, 5);
+        subscribe(USER, null);
+        registry.publish(notifications(USER, "primeira", 1L));
+        registry.publish(notifications(USER, "segunda", 2L));
+        registry.publish(notifications(USER, "terceira", 3L));
+        long firstId = replayedIds(subscribe(USER, 0L), 3).get(0);
+        CapturingEmitter resumed = subscribe(USER, firstId);
+
+        await(() -> resumed.notifications().size() == 2);
+        assertEquals(List.of("segunda", "terceira"), resumed.notifications().stream().map(EventStreamRegistry.StreamMessage::subject).toList());
+        assertFalse(resumed.text().contains("event:" + EventStreamRegistry.RESET_EVENT));
+    }
+
+    @Test
+    void subscribe_withLastEventIdOlderThanRetained_sendsReset() throws Exception {
+        registry = registry(64, 2, 5);
+        CapturingEmitter live = subscribe(USER, null);
+        for (int i = 1; i <= 4; i++) {
+            registry.publish(notifications(USER, "evento " + i, (long) i));
+        }
+        await(() -> live.notifications().size() == 4);
+        long firstId = live.notifications().get(0).id();
+
+        CapturingEmitter resumed = subscribe(USER, firstId);
+
+        await(() -> resumed.notifications().size() == 2);
+        assertTrue(resumed.text().contains("event:" + EventStreamRegistry.RESET_EVENT));
+        assertEquals(List.of("evento 3", "evento 4"), resumed.notifications().stream().map(EventStreamRegistry.StreamMessage::subject).toList());
+    }
+
+    @Test
+    void publish_recipientWithoutStream_isRetainedForResume() throws Exception {
+        registry = registry(64, 100, 5);
+        registry.publish(notifications(USER, "sem conexão", 1L));
+
+        CapturingEmitter resumed = subscribe(USER, 0L);
+        registry.publish(notifications(USER, "com conexão", 2L));
+
+        await(() -> resumed.notifications().size() == 2);
+        assertEquals(List.of("sem conexão", "com conexão"), resumed.notifications().stream().map(EventStreamRegistry.StreamMessage::subject).toList());
+        assertFalse(resumed.text().contains("event:" + EventStreamRegistry.RESET_EVENT));
+    }
+
+    @Test
+    void subscribe_withUnknownLastEventId_sendsResetAndOnlyNewMessages() throws Exception {
+        registry = registry(64, 100, 5);
+        CapturingEmitter live = subscribe(USER, null);
+        registry.publish(notifications(USER, "antiga", 1L));
+        await(() -> live.notifications().size() == 1);
+
+        CapturingEmitter resumed = subscribe(USER, 1_000_000L);
+        registry.publish(notifications(USER, "nova", 2L));
+
+        await(() -> resumed.notifications().size() == 1);
+        assertTrue(resumed.text().contains("event:" + EventStreamRegistry.RESET_EVENT));
+        assertEquals("nova", resumed.notifications().get(0).subject());
+    }
+
+    @Test
+    void publish_onAnotherNode_reachesConnectionsAndResumesOnAnyNode() throws Exception {
+        registry = registry(64, 100, 5);
+        EventStreamRegistry otherNode = registry(64, 100, 5);
+        try {
+            CapturingEmitter onOtherNode = (CapturingEmitter) otherNode.subscribe(USER, null);
+
+            registry.publish(notifications(USER, "primeira", 1L));
+            registry.publish(notifications(USER, "segunda", 2L));
+
+            await(() -> onOtherNode.notifications().size() == 2);
+            long firstId = onOtherNode.notifications().get(0).id();
+            CapturingEmitter resumedHere = subscribe(USER, firstId);
+            await(() -> resumedHere.notifications().size() == 1);
+            assertEquals("segunda", resumedHere.notifications().get(0).subject());
+
+            otherNode.publish(notifications(USER, "terceira", 3L));
+            await(() -> resumedHere.notifications().size() == 2);
+            await(() -> onOtherNode.notifications().size() == 3);
+            assertEquals("terceira", resumedHere.notifications().get(1).subject());
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    @Test
+    void poll_rowCommittedAfterLaterId_isStillDelivered() throws Exception {
+        registry = registry(64, 100, 5);
+        CapturingEmitter live = subscribe(USER, null);
+        long slowTransaction = store.reserveId();
+
+        registry.publish(notifications(USER, "rápida", 2L));
+        await(() -> live.notifications().size() == 1);
+        store.commit(slowTransaction, USER, "lenta");
+
+        await(() -> live.notifications().size() == 2);
+        assertEquals(List.of("rápida", "lenta"), live.notifications().stream().map(EventStreamRegistry.StreamMessage::subject).toList());
+    }
+
+    @Test
+    void publish_slowConsumer_isDisconnected() throws Exception {
+        registry = registry(1, 100, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = subscribe(USER, null);
+        slow.blockUntil(release);
+
+        for (int i = 0; i < 10; i++) {
+            registry.publish(notifications(USER, "evento " + i, (long) i));
+        }
+        release.countDown();
+
+        await(slow::isCompleted);
+        assertTrue(meterRegistry.get("morpheus.sse.evicted").counter().count() >= 1);
+        await(() -> registry.connectionCount() == 0);
+    }
+
+    @Test
+    void subscribe_beyondLimit_closesOldestConnection() throws Exception {
+        registry = registry(64, 100, 1);
+        CapturingEmitter oldest = subscribe(USER, null);
+        CapturingEmitter newest = subscribe(USER, null);
+
+        assertTrue(oldest.isCompleted());
+        assertFalse(newest.isCompleted());
+        assertEquals(1, registry.connectionCount());
+        assertEquals(1.0, meterRegistry.get("morpheus.sse.connections").gauge().value());
+    }
+
+    private EventStreamRegistry registry(int bufferSize, int replaySize, int maxConnections) {
+        return new EventStreamRegistry(meterRegistry, store.repository(), bufferSize, replaySize, 10, maxConnections, 60, 50, 30, 3000, 2) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new CapturingEmitter();
+            }
+        };
+    }
+
+    private CapturingEmitter subscribe(String recipient, Long lastEventId) {
+        return (CapturingEmitter) registry.subscribe(recipient, lastEventId);
+    }
+
+    private static List<Long> replayedIds(CapturingEmitter emitter, int expected) throws Exception {
+        await(() -> emitter.notifications().size() == expected);
+        return emitter.notifications().stream().map(EventStreamRegistry.StreamMessage::id).toList();
+    }
+
+    private static List<Notification> notifications(String recipient, String subject, Long eventId) {
+        return List.of(new Notification(recipient, subject, "corpo", List.of(eventId)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condição não atingida no tempo limite");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Tabela {@code notification_stream} em memória, compartilhada pelos registros que simulam nós distintos.
+     * Um id reservado e ainda não confirmado simula uma transação concorrente mais lenta.
+     */
+    private static final class InMemoryStream {
+
+        private final List<NotificationStreamEntry> rows = new CopyOnWriteArrayList<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        long reserveId() {
+            return ids.incrementAndGet();
+        }
+
+        void commit(long id, String recipient, String subject) {
+            NotificationStreamEntry row = new NotificationStreamEntry();
+            row.setId(id);
+            row.setRecipient(recipient);
+            row.setSubject(subject);
+            row.setEventIds("");
+            row.setCreatedAt(LocalDateTime.now());
+            rows.add(row);
+        }
+
+        NotificationStreamRepository repository() {
+            NotificationStreamRepository repository = mock(NotificationStreamRepository.class);
+            when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+                Iterable<NotificationStreamEntry> entries = invocation.getArgument(0);
+                entries.forEach(entry -> {
+                    entry.setId(ids.incrementAndGet());
+                    rows.add(entry);
+                });
+                return entries;
+            });
+            when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation ->
+                    sorted(row -> row.getId() > invocation.<Long>getArgument(0), invocation.<Limit>getArgument(1).max(), false));
+            when(repository.findByIdInOrderByIdAsc(anyCollection())).thenAnswer(invocation ->
+                    sorted(row -> invocation.<Collection<Long>>getArgument(0).contains(row.getId()), Integer.MAX_VALUE, false));
+            when(repository.findByRecipientAndIdGreaterThanOrderByIdDesc(anyString(), anyLong(), any(Limit.class))).thenAnswer(invocation ->
+                    sorted(row -> row.getRecipient().equals(invocation.getArgument(0)) && row.getId() > invocation.<Long>getArgument(1),
+                            invocation.<Limit>getArgument(2).max(), true));
+            when(repository.findMinId()).thenAnswer(invocation -> rows.stream().map(NotificationStreamEntry::getId).min(Long::compare).orElse(null));
+            when(repository.findMaxId()).thenAnswer(invocation -> rows.stream().map(NotificationStreamEntry::getId).max(Long::compare).orElse(null));
+            return repository;
+        }
+
+        private List<NotificationStreamEntry> sorted(Predicate<NotificationStreamEntry> filter, int limit, boolean descending) {
+            Comparator<NotificationStreamEntry> order = Comparator.comparing(NotificationStreamEntry::getId);
+            return rows.stream().filter(filter).sorted(descending ? order.reversed() : order).limit(limit).toList();
+        }
+    }
+
+    /**
+     * Emitter que registra os eventos enviados, sem depender de uma resposta HTTP.
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<Object> data = new CopyOnWriteArrayList<>();
+        private final StringBuffer text = new StringBuffer();
+        private volatile CountDownLatch gate;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            for (DataWithMediaType part : parts) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    data.add(part.getData());
+                } else {
+                    text.append(part.getData());
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void blockUntil(CountDownLatch latch) {
+            this.gate = latch;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        String text() {
+            return text.toString();
+        }
+
+        List<EventStreamRegistry.StreamMessage> notifications() {
+            return data.stream().map(EventStreamRegistry.StreamMessage.class::cast).toList();
+        }
+    }
+}
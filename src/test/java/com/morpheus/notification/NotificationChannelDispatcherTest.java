@@ -0,0 +1,138 @@
+package com.morpheus.notification;
+
+import com.morpheus.exception.RecoverableEventException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationChannelDispatcherTest {
+
+    private NotificationChannelDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void submit_queuedMessages_areSentInBatchesUpToBatchSize() throws Exception {
+        CountDownLatch firstSend = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        dispatcher = new NotificationChannelDispatcher(channel(new ChannelLimits(3, 1, 1000, 10), batch -> {
+            batchSizes.add(batch.size());
+            firstSend.countDown();
+            await(release);
+        }), 100, 100);
+
+        CompletableFuture<Void> first = dispatcher.submit(notification(0));
+        assertTrue(firstSend.await(2, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> rest = IntStream.rangeClosed(1, 5).mapToObj(i -> dispatcher.submit(notification(i))).toList();
+        release.countDown();
+
+        first.get(2, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> result : rest) {
+            result.get(2, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(1, 3, 2), batchSizes);
+    }
+
+    @Test
+    void submit_respectsMaxConcurrency() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        dispatcher = new NotificationChannelDispatcher(channel(new ChannelLimits(1, 2, 1000, 10), batch -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(20);
+            inFlight.decrementAndGet();
+        }), 100, 100);
+
+        List<CompletableFuture<Void>> results = IntStream.range(0, 10).mapToObj(i -> dispatcher.submit(notification(i))).toList();
+        for (CompletableFuture<Void> result : results) {
+            result.get(2, TimeUnit.SECONDS);
+        }
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void submit_channelFailure_failsEveryMessageOfTheBatch() {
+        dispatcher = new NotificationChannelDispatcher(channel(new ChannelLimits(5, 1, 1000, 10), batch -> {
+            throw new RecoverableEventException("indisponível");
+        }), 100, 100);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> dispatcher.submit(notification(1)).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(RecoverableEventException.class, error.getCause());
+    }
+
+    @Test
+    void submit_queueFull_failsAsRecoverable() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = new NotificationChannelDispatcher(channel(new ChannelLimits(1, 1, 1000, 10), batch -> {
+            sending.countDown();
+            await(release);
+        }), 1, 10);
+
+        dispatcher.submit(notification(1));
+        assertTrue(sending.await(2, TimeUnit.SECONDS));
+        dispatcher.submit(notification(2));
+        CompletableFuture<Void> rejected = dispatcher.submit(notification(3));
+        release.countDown();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(RecoverableEventException.class, error.getCause());
+    }
+
+    private static NotificationChannel channel(ChannelLimits limits, Consumer<List<Notification>> sender) {
+        return new NotificationChannel() {
+            @Override
+            public String name() {
+                return "teste";
+            }
+
+            @Override
+            public ChannelLimits limits() {
+                return limits;
+            }
+
+            @Override
+            public void send(List<Notification> batch) {
+                sender.accept(batch);
+            }
+        };
+    }
+
+    private static Notification notification(long eventId) {
+        return new Notification("user@teste.com", "Evento " + eventId, "", List.of(eventId));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.morpheus.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_withinBurst_isImmediate() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+        assertEquals(0, bucket.tryAcquire(3));
+        assertEquals(0, bucket.tryAcquire(2));
+    }
+
+    @Test
+    void tryAcquire_exhausted_returnsWaitUntilRefill() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+        assertEquals(0, bucket.tryAcquire(5));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.tryAcquire(2));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(0, bucket.tryAcquire(2));
+    }
+
+    @Test
+    void refill_isCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+        bucket.tryAcquire(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, bucket.tryAcquire(5));
+        assertTrue(bucket.tryAcquire(1) > 0);
+    }
+
+    @Test
+    void tryAcquire_aboveCapacity_isRejected() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+        assertThrows(IllegalArgumentException.class, () -> bucket.tryAcquire(6));
+    }
+}
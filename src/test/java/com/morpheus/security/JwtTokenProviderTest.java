@@ -55,5 +55,65 @@ class JwtTokenProviderTest {
         assertTrue(roles.contains("ADMIN"));
         assertTrue(roles.contains("USER"));
     }
-}
 
+    @Test
+    void shouldEmbedUserId() {
+        String token = jwtTokenProvider.generateToken("testUser", 42L);
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertEquals("testUser", jwtTokenProvider.getSubject(token));
+        assertEquals(42L, jwtTokenProvider.getUserId(token));
+    }
+
+    @Test
+    void shouldReturnNullUserIdForLegacyToken() {
+        String token = jwtTokenProvider.generateToken("testUser");
+        assertNull(jwtTokenProvider.getUserId(token));
+    }
+
+    @Test
+    void shouldVerifyTokenOnceAndExtractAllClaims() {
+        String token = jwtTokenProvider.generateToken("testUser", 42L);
+        var verified = jwtTokenProvider.verify(token);
+        assertTrue(verified.isPresent());
+        assertEquals("testUser", verified.get().subject());
+        assertEquals(42L, verified.get().userId());
+        assertTrue(verified.get().roles().isEmpty());
+        assertNotNull(verified.get().expiresAt());
+        assertNotNull(verified.get().tokenId());
+        assertNotNull(verified.get().issuedAt());
+    }
+
+    @Test
+    void shouldIssueUniqueTokenIds() {
+        var first = jwtTokenProvider.verify(jwtTokenProvider.generateToken("testUser", 42L)).orElseThrow();
+        var second = jwtTokenProvider.verify(jwtTokenProvider.generateToken("testUser", 42L)).orElseThrow();
+        assertNotEquals(first.tokenId(), second.tokenId());
+    }
+
+    @Test
+    void shouldReturnCachedTokenOnRepeatedVerification() {
+        String token = jwtTokenProvider.generateToken("testUser", 42L);
+        assertSame(jwtTokenProvider.verify(token).orElseThrow(), jwtTokenProvider.verify(token).orElseThrow());
+    }
+
+    @Test
+    void shouldNotCacheInvalidToken() {
+        String token = jwtTokenProvider.generateToken("testUser", 42L);
+        assertTrue(jwtTokenProvider.verify(token + "tamper").isEmpty());
+        assertTrue(jwtTokenProvider.verify(token + "tamper").isEmpty());
+        assertTrue(jwtTokenProvider.verify(null).isEmpty());
+    }
+
+    @Test
+    void shouldVerifyWithoutCacheWhenDisabled() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("my-very-secret-key-for-jwt-signature-which-is-long-enough");
+        jwtProperties.setExpiration(3600);
+        jwtProperties.getCache().setMaxSize(0);
+        JwtTokenProvider uncached = new JwtTokenProvider(jwtProperties);
+        uncached.init();
+        String token = uncached.generateToken("testUser", 7L);
+        assertEquals(7L, uncached.verify(token).orElseThrow().userId());
+        assertNotSame(uncached.verify(token).orElseThrow(), uncached.verify(token).orElseThrow());
+    }
+}
@@ -0,0 +1,85 @@
+package com.morpheus.security;
+
+import com.morpheus.exception.AuthenticationOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar e verificar hashes com o custo configurado e registrar a latência")
+    void hashAndMatches() {
+        passwordHasher = new PasswordHasher(registry, 4, 2, 8, 5000);
+
+        String hash = passwordHasher.hash("senha123");
+
+        assertEquals(4, PasswordHasher.costOf(hash));
+        assertTrue(passwordHasher.matches("senha123", hash));
+        assertFalse(passwordHasher.matches("outra", hash));
+        assertEquals(1, registry.get("morpheus.auth.hash").tag("operation", "hash").timer().count());
+        assertEquals(2, registry.get("morpheus.auth.hash").tag("operation", "verify").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve indicar rehash para hashes com custo diferente do configurado")
+    void needsRehash() {
+        passwordHasher = new PasswordHasher(registry, 5, 1, 1, 5000);
+
+        assertTrue(passwordHasher.needsRehash(BCrypt.hashpw("senha", BCrypt.gensalt(4))));
+        assertFalse(passwordHasher.needsRehash(BCrypt.hashpw("senha", BCrypt.gensalt(5))));
+        assertTrue(passwordHasher.needsRehash("texto-sem-formato"));
+        assertEquals(10, PasswordHasher.costOf("$2a$10$abcdefghijklmnopqrstuv"));
+        assertEquals(-1, PasswordHasher.costOf(null));
+    }
+
+    @Test
+    @DisplayName("Deve recusar imediatamente quando a fila do pool estiver cheia")
+    void rejectsWhenSaturated() {
+        passwordHasher = new PasswordHasher(registry, 12, 1, 1, 60000);
+        List<CompletableFuture<String>> pending = new ArrayList<>();
+        pending.add(passwordHasher.hashAsync("ocupa-thread"));
+        pending.add(passwordHasher.hashAsync("ocupa-fila"));
+
+        long start = System.nanoTime();
+        assertThrows(AuthenticationOverloadedException.class, () -> passwordHasher.matches("senha", "$2a$04$x"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertTrue(passwordHasher.hashAsync("excedente").isCompletedExceptionally());
+        assertEquals(2.0, registry.get("morpheus.auth.hash.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando a espera pelo pool exceder o tempo máximo")
+    void rejectsOnWaitTimeout() {
+        passwordHasher = new PasswordHasher(registry, 14, 1, 4, 50);
+
+        assertThrows(AuthenticationOverloadedException.class, () -> passwordHasher.hash("senha"));
+        assertEquals(1.0, registry.get("morpheus.auth.hash.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração inválida")
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(registry, 3, 1, 1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(registry, 10, 1, 0, 1000));
+    }
+}
@@ -15,7 +15,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +26,9 @@ class SecurityConfigTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private FilterChain filterChain;
 
@@ -35,7 +40,7 @@ class SecurityConfigTest {
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
-        securityConfig = new SecurityConfig(jwtTokenProvider);
+        securityConfig = new SecurityConfig(jwtTokenProvider, tokenRevocationService);
         SecurityContextHolder.clearContext();
     }
 
@@ -52,9 +57,7 @@ class SecurityConfigTest {
         String email = "user@example.com";
         List<String> roles = List.of("USER");
 
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getSubject(token)).thenReturn(email);
-        when(jwtTokenProvider.getRoles(token)).thenReturn(roles);
+        when(jwtTokenProvider.verify(token)).thenReturn(Optional.of(new VerifiedToken(email, 42L, roles, Instant.now().plusSeconds(60), "jti-1", Instant.now())));
 
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
@@ -65,14 +68,32 @@ class SecurityConfigTest {
 
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNotNull(authentication, "A autenticação não deve ser nula para token válido");
-        assertEquals(email, authentication.getPrincipal(), "O email do usuário autenticado está incorreto");
+        assertEquals(new AuthenticatedUser(42L, email), authentication.getPrincipal(), "O usuário autenticado está incorreto");
         assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")), "O usuário autenticado não possui a role esperada");
+        verify(jwtTokenProvider).verify(token);
+        verifyNoMoreInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    void jwtAuthFilter_revokedToken_doesNotSetAuthentication() throws IOException, ServletException {
+        String token = "revoked.jwt.token";
+        VerifiedToken verified = new VerifiedToken("user@example.com", 42L, List.of(), Instant.now().plusSeconds(60), "jti-2", Instant.now());
+        when(jwtTokenProvider.verify(token)).thenReturn(Optional.of(verified));
+        when(tokenRevocationService.isRevoked(verified)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        securityConfig.jwtAuthFilter().doFilter(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication(), "A autenticação deve ser nula para token revogado");
+        verify(filterChain).doFilter(request, response);
     }
 
     @Test
     void jwtAuthFilter_invalidToken_doesNotSetAuthentication() throws IOException, ServletException {
         String token = "invalid.jwt.token";
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.verify(token)).thenReturn(Optional.empty());
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -81,7 +102,7 @@ class SecurityConfigTest {
         filter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication(), "A autenticação deve ser nula para token inválido");
-        verify(jwtTokenProvider).validateToken(token);
+        verify(jwtTokenProvider).verify(token);
         verifyNoMoreInteractions(jwtTokenProvider);
     }
 
@@ -100,7 +121,7 @@ class SecurityConfigTest {
     @Test
     void jwtAuthFilter_exceptionInFilter_setsUnauthorizedStatus() throws IOException, ServletException {
         String token = "valid.jwt.token";
-        when(jwtTokenProvider.validateToken(token)).thenThrow(new RuntimeException("Token error"));
+        when(jwtTokenProvider.verify(token)).thenThrow(new RuntimeException("Token error"));
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -110,7 +131,7 @@ class SecurityConfigTest {
 
         assertEquals(401, response.getStatus(), "O status deve ser 401 em caso de exceção no filtro");
         assertNull(SecurityContextHolder.getContext().getAuthentication(), "A autenticação deve ser nula em caso de exceção");
-        verify(jwtTokenProvider).validateToken(token);
+        verify(jwtTokenProvider).verify(token);
         verifyNoMoreInteractions(jwtTokenProvider);
     }
 }
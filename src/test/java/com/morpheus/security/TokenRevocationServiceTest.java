@@ -0,0 +1,127 @@
+package com.morpheus.security;
+
+import com.morpheus.config.JwtProperties;
+import com.morpheus.model.entity.RevokedToken;
+import com.morpheus.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, RevokedToken> stored = new HashMap<>();
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(3600);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, properties, registry);
+        lenient().when(revokedTokenRepository.upsert(anyString(), any(), any())).thenAnswer(invocation -> {
+            RevokedToken entry = new RevokedToken();
+            entry.setId(invocation.getArgument(0));
+            entry.setRevokedAt(invocation.getArgument(1));
+            entry.setExpiresAt(invocation.getArgument(2));
+            stored.put(entry.getId(), entry);
+            return 1;
+        });
+        lenient().when(revokedTokenRepository.existsById(anyString()))
+                .thenAnswer(invocation -> stored.containsKey(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco para tokens ausentes do filtro")
+    void notRevoked_skipsDatabase() {
+        assertFalse(tokenRevocationService.isRevoked(token("jti-1", 1L, Instant.now())));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Deve revogar um token individual até a sua expiração")
+    void revokeSingleToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        VerifiedToken revoked = new VerifiedToken("user@email.com", 1L, List.of(), expiresAt, "jti-1", Instant.now());
+
+        tokenRevocationService.revoke(revoked);
+
+        assertTrue(tokenRevocationService.isRevoked(revoked));
+        assertFalse(tokenRevocationService.isRevoked(token("jti-2", 1L, Instant.now())));
+        assertTrue(stored.get("jti-1").getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(590)));
+        assertEquals(1.0, registry.get("morpheus.auth.revocation.lookups").tag("result", "revoked").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve revogar os tokens do usuário emitidos antes da revogação")
+    void revokeUser() {
+        VerifiedToken old = token("jti-antigo", 7L, Instant.now().minusSeconds(120));
+        VerifiedToken otherUser = token("jti-outro", 8L, Instant.now().minusSeconds(120));
+
+        tokenRevocationService.revokeUser(7L);
+
+        assertTrue(tokenRevocationService.isRevoked(old));
+        assertFalse(tokenRevocationService.isRevoked(otherUser));
+        assertFalse(tokenRevocationService.isRevoked(token("jti-novo", 7L, Instant.now().plusSeconds(2))));
+        verify(revokedTokenRepository, never()).existsById(anyString());
+        assertEquals(0.0, registry.get("morpheus.auth.revocation.lookups").tag("result", "false_positive").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o filtro com as entradas vigentes, incluindo as de outros nós")
+    void rebuild() {
+        RevokedToken remoteToken = entry("jti-remoto", LocalDateTime.now());
+        RevokedToken remoteUser = entry("user:9", LocalDateTime.now().minusSeconds(60));
+        when(revokedTokenRepository.findActive(any())).thenReturn(List.of(remoteToken, remoteUser));
+        stored.put(remoteToken.getId(), remoteToken);
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked(token("jti-remoto", 1L, Instant.now())));
+        assertTrue(tokenRevocationService.isRevoked(token("jti-9a", 9L, Instant.now().minusSeconds(120))));
+        assertFalse(tokenRevocationService.isRevoked(token("jti-9b", 9L, Instant.now())));
+        verify(revokedTokenRepository).existsById("jti-remoto");
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar cortes de usuário que não estão mais vigentes na reconstrução")
+    void rebuild_dropsExpiredUserCutoffs() {
+        tokenRevocationService.revokeUser(7L);
+        when(revokedTokenRepository.findActive(any())).thenReturn(List.of());
+
+        tokenRevocationService.rebuild();
+
+        assertFalse(tokenRevocationService.isRevoked(token("jti-antigo", 7L, Instant.now().minusSeconds(120))));
+    }
+
+    private static RevokedToken entry(String id, LocalDateTime revokedAt) {
+        RevokedToken entry = new RevokedToken();
+        entry.setId(id);
+        entry.setRevokedAt(revokedAt);
+        entry.setExpiresAt(revokedAt.plusHours(1));
+        return entry;
+    }
+
+    private static VerifiedToken token(String tokenId, Long userId, Instant issuedAt) {
+        return new VerifiedToken("user@email.com", userId, List.of(), Instant.now().plusSeconds(600), tokenId, issuedAt);
+    }
+}
@@ -1,12 +1,18 @@
 package com.morpheus.service;
 
 import com.morpheus.dto.LoginRequest;
+import com.morpheus.dto.RefreshRequest;
 import com.morpheus.dto.RegisterRequest;
 import com.morpheus.dto.TokenResponse;
+import com.morpheus.exception.AuthenticationOverloadedException;
+import com.morpheus.exception.InvalidRefreshTokenException;
 import com.morpheus.exception.UserNotFoundException;
 import com.morpheus.model.entity.User;
 import com.morpheus.repository.UserRepository;
 import com.morpheus.security.JwtTokenProvider;
+import com.morpheus.security.PasswordHasher;
+import com.morpheus.security.TokenRevocationService;
+import com.morpheus.security.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,12 +22,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,14 @@ class AuthenticationServiceTest {
     private UserRepository userRepository;
     @Mock
     private JwtTokenProvider jwtTokenProvider;
+    @Mock
+    private UserIdentityCache userIdentityCache;
+    @Mock
+    private PasswordHasher passwordHasher;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -52,12 +70,55 @@ class AuthenticationServiceTest {
     void login_success() {
         LoginRequest loginRequest = new LoginRequest(user.getEmail(), rawPassword);
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(jwtTokenProvider.generateToken(user.getEmail())).thenReturn("token123");
+        when(passwordHasher.matches(rawPassword, user.getPasswordHash())).thenReturn(true);
+        when(jwtTokenProvider.generateToken(user.getEmail(), user.getId())).thenReturn("token123");
+        when(refreshTokenService.issue(user)).thenReturn("refresh123");
         TokenResponse response = authenticationService.login(loginRequest);
         assertNotNull(response);
         assertEquals("token123", response.token());
+        assertEquals("refresh123", response.refreshToken());
         verify(userRepository).findByEmail(user.getEmail());
-        verify(jwtTokenProvider).generateToken(user.getEmail());
+        verify(jwtTokenProvider).generateToken(user.getEmail(), user.getId());
+        verify(userIdentityCache).put(user);
+        verify(passwordHasher, never()).hashAsync(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash da senha com o custo configurado após login bem-sucedido")
+    void login_rehashesOutdatedCost() {
+        LoginRequest loginRequest = new LoginRequest(user.getEmail(), rawPassword);
+        String oldHash = user.getPasswordHash();
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(rawPassword, oldHash)).thenReturn(true);
+        when(passwordHasher.needsRehash(oldHash)).thenReturn(true);
+        when(passwordHasher.hashAsync(rawPassword)).thenReturn(CompletableFuture.completedFuture("novoHash"));
+        when(jwtTokenProvider.generateToken(user.getEmail(), user.getId())).thenReturn("token123");
+        assertEquals("token123", authenticationService.login(loginRequest).token());
+        verify(userRepository).updatePasswordHash(user.getId(), oldHash, "novoHash");
+    }
+
+    @Test
+    @DisplayName("Deve concluir o login mesmo quando o rehash é recusado pelo pool")
+    void login_rehashRejected() {
+        LoginRequest loginRequest = new LoginRequest(user.getEmail(), rawPassword);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(rawPassword, user.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.needsRehash(user.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.hashAsync(rawPassword))
+                .thenReturn(CompletableFuture.failedFuture(new AuthenticationOverloadedException()));
+        when(jwtTokenProvider.generateToken(user.getEmail(), user.getId())).thenReturn("token123");
+        assertEquals("token123", authenticationService.login(loginRequest).token());
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a recusa do pool de hashing sem emitir token")
+    void login_overloaded() {
+        LoginRequest loginRequest = new LoginRequest(user.getEmail(), rawPassword);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(rawPassword, user.getPasswordHash())).thenThrow(new AuthenticationOverloadedException());
+        assertThrows(AuthenticationOverloadedException.class, () -> authenticationService.login(loginRequest));
+        verifyNoInteractions(jwtTokenProvider, userIdentityCache);
     }
 
     @Test
@@ -76,6 +137,57 @@ class AuthenticationServiceTest {
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
         assertThrows(IllegalArgumentException.class, () -> authenticationService.login(loginRequest));
         verify(userRepository).findByEmail(user.getEmail());
+        verifyNoInteractions(userIdentityCache);
+    }
+
+    @Test
+    @DisplayName("Deve renovar o access token com refresh token sem verificar a senha")
+    void refresh_success() {
+        when(refreshTokenService.rotate("refresh-atual")).thenReturn(new RefreshTokenService.Rotation(user, "refresh-novo"));
+        when(jwtTokenProvider.generateToken(user.getEmail(), user.getId())).thenReturn("token456");
+        TokenResponse response = authenticationService.refresh(new RefreshRequest("refresh-atual"));
+        assertEquals("token456", response.token());
+        assertEquals("refresh-novo", response.refreshToken());
+        verify(userIdentityCache).put(user);
+        verifyNoInteractions(passwordHasher, userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve recusar refresh token inválido sem emitir access token")
+    void refresh_invalid() {
+        when(refreshTokenService.rotate("invalido")).thenThrow(new InvalidRefreshTokenException());
+        assertThrows(InvalidRefreshTokenException.class, () -> authenticationService.refresh(new RefreshRequest("invalido")));
+        verifyNoInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    @DisplayName("Deve revogar o access token e a cadeia do refresh token no logout")
+    void logout_singleSession() {
+        VerifiedToken verified = new VerifiedToken(user.getEmail(), user.getId(), List.of(), Instant.now().plusSeconds(60), "jti", Instant.now());
+        when(jwtTokenProvider.verify("access")).thenReturn(Optional.of(verified));
+        authenticationService.logout("access", "refresh", false);
+        verify(tokenRevocationService).revoke(verified);
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationService, never()).revokeUser(any());
+    }
+
+    @Test
+    @DisplayName("Deve revogar todas as sessões do usuário no logout geral")
+    void logout_allSessions() {
+        VerifiedToken verified = new VerifiedToken(user.getEmail(), user.getId(), List.of(), Instant.now().plusSeconds(60), "jti", Instant.now());
+        when(jwtTokenProvider.verify("access")).thenReturn(Optional.of(verified));
+        authenticationService.logout("access", null, true);
+        verify(tokenRevocationService).revokeUser(user.getId());
+        verify(refreshTokenService).revokeAllForUser(user.getId());
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar access token inválido no logout")
+    void logout_invalidToken() {
+        when(jwtTokenProvider.verify("invalido")).thenReturn(Optional.empty());
+        authenticationService.logout("invalido", null, false);
+        verifyNoInteractions(tokenRevocationService, refreshTokenService);
     }
 
     @Test
@@ -83,10 +195,12 @@ class AuthenticationServiceTest {
     void register_success() {
         RegisterRequest registerRequest = new RegisterRequest("Novo Usuário", "novo@email.com", "novaSenha");
         when(userRepository.existsByEmail(registerRequest.email())).thenReturn(false);
+        when(passwordHasher.hash("novaSenha")).thenReturn("hashNovaSenha");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
         authenticationService.register(registerRequest);
         verify(userRepository).existsByEmail(registerRequest.email());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).save(argThat(saved -> "hashNovaSenha".equals(saved.getPasswordHash())));
+        verify(userIdentityCache).put(any(User.class));
     }
 
     @Test
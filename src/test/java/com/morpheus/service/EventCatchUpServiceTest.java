@@ -0,0 +1,197 @@
+package com.morpheus.service;
+
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.SchedulerCheckpoint;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.model.enums.StaleEventPolicy;
+import com.morpheus.repository.SchedulerCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCatchUpServiceTest {
+
+    @Mock
+    private SchedulerCheckpointRepository checkpointRepository;
+
+    @Mock
+    private EventLeaseService eventLeaseService;
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    @Mock
+    private EventOutboxWorker eventOutboxWorker;
+
+    @Mock
+    private EventListCache eventListCache;
+
+    private EventCatchUpService eventCatchUpService;
+
+    @AfterEach
+    void tearDown() {
+        if (eventCatchUpService != null) {
+            eventCatchUpService.shutdown();
+        }
+    }
+
+    @Test
+    void recordTick_createsAndAdvancesCheckpoint() {
+        eventCatchUpService = service(StaleEventPolicy.DELIVER);
+        LocalDateTime start = LocalDateTime.now().minusMinutes(10);
+        LocalDateTime end = LocalDateTime.now();
+
+        eventCatchUpService.recordTick(start, end);
+
+        verify(checkpointRepository).createIfAbsent(eq(EventCatchUpService.CHECKPOINT), eq(end), any());
+        verify(checkpointRepository).advance(eq(EventCatchUpService.CHECKPOINT), eq(start), eq(end), any());
+    }
+
+    @Test
+    void drainBacklog_withoutCheckpoint_doesNothing() {
+        eventCatchUpService = service(StaleEventPolicy.DELIVER);
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.empty());
+
+        assertEquals(0, eventCatchUpService.drainBacklog());
+
+        verify(eventLeaseService, never()).claimDueEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void drainBacklog_checkpointWithinLookback_doesNothing() {
+        eventCatchUpService = service(StaleEventPolicy.DELIVER);
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.of(checkpoint(LocalDateTime.now())));
+
+        assertEquals(0, eventCatchUpService.drainBacklog());
+
+        verify(eventLeaseService, never()).claimDueEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void drainBacklog_pagesThroughGapAndAdvancesCheckpoint() {
+        eventCatchUpService = service(StaleEventPolicy.DELIVER);
+        LocalDateTime mark = LocalDateTime.now().minusMinutes(30);
+        User user = user(1L);
+        Event first = event(1L, user, mark.plusMinutes(1));
+        Event second = event(2L, user, mark.plusMinutes(2));
+        Event third = event(3L, user, mark.plusMinutes(3));
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.of(checkpoint(mark)));
+        when(eventLeaseService.claimDueEvents(eq(mark), any(), eq(2))).thenReturn(List.of(first, second));
+        when(eventLeaseService.claimDueEvents(eq(second.getScheduledFor()), any(), eq(2))).thenReturn(List.of(third));
+        when(eventOutboxService.enqueue(anyList())).thenAnswer(invocation -> invocation.<List<Event>>getArgument(0).size());
+
+        assertEquals(3, eventCatchUpService.drainBacklog());
+
+        ArgumentCaptor<LocalDateTime> backlogEnd = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventLeaseService).claimDueEvents(eq(mark), backlogEnd.capture(), eq(2));
+        verify(checkpointRepository).advance(eq(EventCatchUpService.CHECKPOINT), eq(mark), eq(second.getScheduledFor()), any());
+        verify(checkpointRepository).advance(eq(EventCatchUpService.CHECKPOINT), eq(second.getScheduledFor()), eq(backlogEnd.getValue()), any());
+        verify(eventOutboxWorker, times(2)).requestDrain();
+    }
+
+    @Test
+    void drainBacklog_skippedPendingEvent_holdsCheckpointBeforeIt() {
+        eventCatchUpService = service(StaleEventPolicy.DELIVER);
+        LocalDateTime mark = LocalDateTime.now().minusMinutes(30);
+        User user = user(1L);
+        Event first = event(1L, user, mark.plusMinutes(1));
+        Event third = event(3L, user, mark.plusMinutes(3));
+        Event fourth = event(4L, user, mark.plusMinutes(4));
+        LocalDateTime leasedElsewhere = mark.plusMinutes(2);
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.of(checkpoint(mark)));
+        when(eventLeaseService.claimDueEvents(eq(mark), any(), eq(2))).thenReturn(List.of(first, third));
+        when(eventLeaseService.claimDueEvents(eq(third.getScheduledFor()), any(), eq(2))).thenReturn(List.of(fourth));
+        when(eventLeaseService.findOldestPending(eq(mark), any())).thenReturn(Optional.of(leasedElsewhere));
+        when(eventLeaseService.findOldestPending(eq(leasedElsewhere), any())).thenReturn(Optional.of(leasedElsewhere));
+        when(eventOutboxService.enqueue(anyList())).thenAnswer(invocation -> invocation.<List<Event>>getArgument(0).size());
+
+        assertEquals(3, eventCatchUpService.drainBacklog());
+
+        verify(checkpointRepository).advance(eq(EventCatchUpService.CHECKPOINT), eq(mark), eq(leasedElsewhere), any());
+        verify(checkpointRepository, times(1)).advance(any(), any(), any(), any());
+        verify(eventLeaseService).claimDueEvents(eq(third.getScheduledFor()), any(), eq(2));
+    }
+
+    @Test
+    void drainBacklog_dropPolicy_skipsStaleEvents() {
+        eventCatchUpService = service(StaleEventPolicy.DROP);
+        LocalDateTime mark = LocalDateTime.now().minusHours(3);
+        User user = user(1L);
+        Event stale = event(1L, user, mark.plusMinutes(1));
+        Event recent = event(2L, user, LocalDateTime.now().minusMinutes(20));
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.of(checkpoint(mark)));
+        when(eventLeaseService.claimDueEvents(eq(mark), any(), eq(2))).thenReturn(List.of(stale, recent));
+        when(eventLeaseService.claimDueEvents(eq(recent.getScheduledFor()), any(), eq(2))).thenReturn(List.of());
+        when(eventLeaseService.skip(List.of(stale))).thenReturn(1);
+        when(eventOutboxService.enqueue(List.of(recent))).thenReturn(1);
+
+        assertEquals(2, eventCatchUpService.drainBacklog());
+
+        verify(eventLeaseService).skip(List.of(stale));
+        verify(eventOutboxService).enqueue(List.of(recent));
+    }
+
+    @Test
+    void drainBacklog_digestPolicy_enqueuesStaleEventsGroupedByUser() {
+        eventCatchUpService = service(StaleEventPolicy.DIGEST);
+        LocalDateTime mark = LocalDateTime.now().minusHours(3);
+        Event userTwo = event(1L, user(2L), mark.plusMinutes(1));
+        Event userOne = event(2L, user(1L), mark.plusMinutes(2));
+        when(checkpointRepository.findById(EventCatchUpService.CHECKPOINT)).thenReturn(Optional.of(checkpoint(mark)));
+        when(eventLeaseService.claimDueEvents(eq(mark), any(), eq(2))).thenReturn(List.of(userTwo, userOne));
+        when(eventLeaseService.claimDueEvents(eq(userOne.getScheduledFor()), any(), eq(2))).thenReturn(List.of());
+        when(eventOutboxService.enqueue(eq(List.of(userOne, userTwo)), any(LocalDateTime.class))).thenReturn(2);
+
+        assertEquals(2, eventCatchUpService.drainBacklog());
+
+        verify(eventOutboxService).enqueue(eq(List.of(userOne, userTwo)), any(LocalDateTime.class));
+        verify(eventLeaseService, never()).skip(anyList());
+    }
+
+    private EventCatchUpService service(StaleEventPolicy policy) {
+        return new EventCatchUpService(checkpointRepository, eventLeaseService, eventOutboxService, eventOutboxWorker,
+                eventListCache, new EventMetrics(new SimpleMeterRegistry()), true, true, 10, 2, 1_000_000, 60, policy);
+    }
+
+    private static SchedulerCheckpoint checkpoint(LocalDateTime mark) {
+        SchedulerCheckpoint checkpoint = new SchedulerCheckpoint();
+        checkpoint.setName(EventCatchUpService.CHECKPOINT);
+        checkpoint.setHighWaterMark(mark);
+        checkpoint.setUpdatedAt(mark);
+        return checkpoint;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@teste.com");
+        return user;
+    }
+
+    private static Event event(Long id, User user, LocalDateTime scheduledFor) {
+        Event event = new Event();
+        event.setId(id);
+        event.setUser(user);
+        event.setType(EventType.REMINDER);
+        event.setScheduledFor(scheduledFor);
+        return event;
+    }
+}
@@ -0,0 +1,112 @@
+package com.morpheus.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDispatcherTest {
+
+    private EventDispatcher eventDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        eventDispatcher = new EventDispatcher(2, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventDispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_returnsOnlySucceededItemsInOrder() {
+        List<Integer> succeeded = eventDispatcher.dispatch(List.of(1, 2, 3, 4), item -> item % 2 == 0);
+        assertEquals(List.of(2, 4), succeeded);
+    }
+
+    @Test
+    void dispatch_taskThrows_isTreatedAsFailure() {
+        List<Integer> succeeded = eventDispatcher.dispatch(List.of(1, 2), item -> {
+            if (item == 1) {
+                throw new IllegalStateException("falha");
+            }
+            return true;
+        });
+        assertEquals(List.of(2), succeeded);
+    }
+
+    @Test
+    void dispatch_completedItems_releaseTheirTimeouts() {
+        List<Integer> items = IntStream.range(0, 1_000).boxed().toList();
+
+        assertEquals(items, eventDispatcher.dispatch(items, item -> true));
+
+        assertEquals(0, eventDispatcher.pendingTimeouts());
+    }
+
+    @Test
+    void dispatch_timeoutCountsFromStartOfExecution() {
+        EventDispatcher serial = new EventDispatcher(1, 300);
+        try {
+            List<Integer> succeeded = serial.dispatch(List.of(1, 2, 3), item -> {
+                try {
+                    Thread.sleep(150);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            assertEquals(List.of(1, 2, 3), succeeded);
+        } finally {
+            serial.shutdown();
+        }
+    }
+
+    @Test
+    void dispatch_slowTask_isCancelledAfterTimeout() {
+        long start = System.currentTimeMillis();
+        List<Integer> succeeded = eventDispatcher.dispatch(List.of(1, 2), item -> {
+            if (item == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+            }
+            return true;
+        });
+        assertEquals(List.of(2), succeeded);
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+    }
+
+    @Test
+    void dispatch_neverExceedsMaxConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        eventDispatcher.dispatch(List.of(1, 2, 3, 4, 5, 6), item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return true;
+        });
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void dispatch_emptyOrNull_returnsEmptyList() {
+        assertTrue(eventDispatcher.dispatch(List.of(), item -> true).isEmpty());
+        assertTrue(eventDispatcher.dispatch(null, item -> true).isEmpty());
+    }
+}
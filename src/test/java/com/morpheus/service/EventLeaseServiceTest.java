@@ -0,0 +1,148 @@
+package com.morpheus.service;
+
+import com.morpheus.model.entity.Event;
+import com.morpheus.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventLeaseServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventLeaseService eventLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        eventLeaseService = new EventLeaseService(eventRepository, "node-a", 60, 2);
+    }
+
+    @Test
+    void claimDueEvents_locksAndClaimsForNode() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(5);
+        LocalDateTime end = LocalDateTime.now();
+        Event event = new Event();
+        event.setId(1L);
+        when(eventRepository.lockClaimableIds(eq(start), eq(end), any(LocalDateTime.class), eq(100))).thenReturn(List.of(1L));
+        when(eventRepository.findByIdInAndClaimedBy(List.of(1L), "node-a")).thenReturn(List.of(event));
+
+        List<Event> claimed = eventLeaseService.claimDueEvents(start, end, 100);
+
+        assertEquals(List.of(event), claimed);
+        verify(eventRepository).updateClaim(eq(List.of(1L)), eq("node-a"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void claimDueEvents_nothingLocked_doesNotUpdate() {
+        when(eventRepository.lockClaimableIds(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        assertTrue(eventLeaseService.claimDueEvents(LocalDateTime.now(), LocalDateTime.now(), 100).isEmpty());
+
+        verify(eventRepository, never()).updateClaim(anyCollection(), anyString(), any());
+        verify(eventRepository, never()).findByIdInAndClaimedBy(anyCollection(), anyString());
+    }
+
+    @Test
+    void claimEvents_emptyIds_doesNotQuery() {
+        assertTrue(eventLeaseService.claimEvents(List.of()).isEmpty());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void constructor_blankNodeId_generatesUniqueId() {
+        EventLeaseService first = new EventLeaseService(eventRepository, "", 60, 2);
+        EventLeaseService second = new EventLeaseService(eventRepository, null, 60, 2);
+        assertFalse(first.getNodeId().isBlank());
+        assertNotEquals(first.getNodeId(), second.getNodeId());
+    }
+
+    @Test
+    void acknowledge_marksNotifiedInChunks() {
+        when(eventRepository.markNotified(anyCollection())).thenAnswer(invocation -> invocation.<java.util.Collection<?>>getArgument(0).size());
+
+        int updated = eventLeaseService.acknowledge(List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertEquals(5, updated);
+        verify(eventRepository).markNotified(List.of(1L, 2L));
+        verify(eventRepository).markNotified(List.of(3L, 4L));
+        verify(eventRepository).markNotified(List.of(5L));
+    }
+
+    @Test
+    void acknowledge_emptyIds_doesNotUpdate() {
+        assertEquals(0, eventLeaseService.acknowledge(List.of()));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void advanceSeries_movesToNextFutureOccurrence() {
+        LocalDateTime start = LocalDateTime.now().minusDays(3).withNano(0);
+        Event series = recurring(1L, "FREQ=DAILY", start, start.plusDays(3), 3);
+
+        when(eventRepository.advanceOccurrence(1L, start.plusDays(4), 4)).thenReturn(1);
+
+        assertEquals(1, eventLeaseService.advanceSeries(List.of(series)));
+
+        verify(eventRepository).advanceOccurrence(1L, start.plusDays(4), 4);
+        verify(eventRepository, never()).markNotified(anyCollection());
+    }
+
+    @Test
+    void advanceSeries_skipsMissedOccurrences() {
+        LocalDateTime start = LocalDateTime.now().minusDays(10).withNano(0);
+        Event series = recurring(1L, "FREQ=DAILY", start, start, 0);
+
+        eventLeaseService.advanceSeries(List.of(series));
+
+        verify(eventRepository).advanceOccurrence(1L, start.plusDays(11), 11);
+    }
+
+    @Test
+    void advanceSeries_finishedOrInvalidSeries_areMarkedNotified() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1).withNano(0);
+        Event finished = recurring(1L, "FREQ=DAILY;COUNT=2", start, start.plusDays(1), 1);
+        Event invalid = recurring(2L, "FREQ=SOMETIMES", start, start, 0);
+        when(eventRepository.markNotified(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, eventLeaseService.advanceSeries(List.of(finished, invalid)));
+
+        verify(eventRepository, never()).advanceOccurrence(any(), any(), anyInt());
+    }
+
+    @Test
+    void skip_acknowledgesSingleEventsAndAdvancesSeries() {
+        LocalDateTime start = LocalDateTime.now().minusDays(3).withNano(0);
+        Event single = new Event();
+        single.setId(1L);
+        Event series = recurring(2L, "FREQ=DAILY", start, start.plusDays(3), 3);
+        when(eventRepository.markNotified(List.of(1L))).thenReturn(1);
+        when(eventRepository.advanceOccurrence(2L, start.plusDays(4), 4)).thenReturn(1);
+
+        assertEquals(2, eventLeaseService.skip(List.of(single, series)));
+    }
+
+    private static Event recurring(Long id, String rule, LocalDateTime seriesStart, LocalDateTime scheduledFor, int occurrenceIndex) {
+        Event event = new Event();
+        event.setId(id);
+        event.setRecurrenceRule(rule);
+        event.setSeriesStart(seriesStart);
+        event.setScheduledFor(scheduledFor);
+        event.setOccurrenceIndex(occurrenceIndex);
+        return event;
+    }
+}
@@ -0,0 +1,61 @@
+package com.morpheus.service;
+
+import com.morpheus.dto.EventResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventListCacheTest {
+
+    private EventListCache eventListCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        eventListCache = new EventListCache(2, 60);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_cachesPerUserAndRecordsStats() {
+        List<EventResponse> first = eventListCache.get(1L, this::load);
+        List<EventResponse> second = eventListCache.get(1L, this::load);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, eventListCache.stats().hitCount());
+        assertEquals(1, eventListCache.stats().missCount());
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        eventListCache.get(1L, this::load);
+        eventListCache.invalidate(1L);
+        eventListCache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateAll_forcesReloadForEachUser() {
+        eventListCache.get(1L, this::load);
+        eventListCache.get(2L, this::load);
+        eventListCache.invalidateAll(Set.of(1L, 2L));
+        eventListCache.get(1L, this::load);
+        eventListCache.get(2L, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void invalidate_nullUser_isIgnored() {
+        assertDoesNotThrow(() -> eventListCache.invalidate(null));
+    }
+
+    private List<EventResponse> load() {
+        loads.incrementAndGet();
+        return List.of(new EventResponse(1L, "Evento", null, null, null, false));
+    }
+}
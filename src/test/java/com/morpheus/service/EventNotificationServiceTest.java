@@ -0,0 +1,161 @@
+package com.morpheus.service;
+
+import com.morpheus.exception.RecoverableEventException;
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.notification.ChannelLimits;
+import com.morpheus.notification.LoopbackNotificationChannel;
+import com.morpheus.notification.Notification;
+import com.morpheus.notification.NotificationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventNotificationServiceTest {
+
+    private final LoopbackNotificationChannel loopback = new LoopbackNotificationChannel(10, 1, 1000, 100, 100);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventMetrics eventMetrics = new EventMetrics(meterRegistry);
+    private EventNotificationService eventNotificationService;
+
+    @AfterEach
+    void tearDown() {
+        eventNotificationService.shutdown();
+    }
+
+    @Test
+    void notifyEvent_deliversSingleMessageToRecipient() {
+        eventNotificationService = new EventNotificationService(List.of(loopback), eventMetrics, 100, 100);
+        User user = user();
+
+        eventNotificationService.notifyEvent(entry(1L, "Reunião", user));
+
+        List<Notification> delivered = loopback.delivered();
+        assertEquals(1, delivered.size());
+        assertEquals("user@teste.com", delivered.get(0).recipient());
+        assertEquals("Reunião", delivered.get(0).subject());
+        assertEquals(List.of(1L), delivered.get(0).eventIds());
+    }
+
+    @Test
+    void notifyDigest_deliversOneMessageCoveringAllEvents() {
+        eventNotificationService = new EventNotificationService(List.of(loopback), eventMetrics, 100, 100);
+        User user = user();
+
+        eventNotificationService.notifyDigest(user, EventType.REMINDER,
+                List.of(entry(1L, "A", user), entry(2L, "B", user)));
+
+        List<Notification> delivered = loopback.delivered();
+        assertEquals(1, delivered.size());
+        assertEquals("Resumo: 2 eventos REMINDER", delivered.get(0).subject());
+        assertEquals(List.of(1L, 2L), delivered.get(0).eventIds());
+    }
+
+    @Test
+    void notifyDigest_recurringSeries_describesEachOccurrenceInsteadOfNextSchedule() {
+        eventNotificationService = new EventNotificationService(List.of(loopback), eventMetrics, 100, 100);
+        User user = user();
+        LocalDateTime first = LocalDateTime.of(2025, 1, 1, 9, 0);
+        EventOutbox monday = entry(1L, "Academia", user);
+        monday.setOccurrenceAt(first);
+        EventOutbox tuesday = entry(1L, "Academia", user);
+        tuesday.setOccurrenceAt(first.plusDays(1));
+        tuesday.setEvent(monday.getEvent());
+        monday.getEvent().setScheduledFor(first.plusDays(2));
+
+        eventNotificationService.notifyDigest(user, EventType.REMINDER, List.of(monday, tuesday));
+
+        String body = loopback.delivered().get(0).body();
+        assertTrue(body.contains("em " + first), body);
+        assertTrue(body.contains("em " + first.plusDays(1)), body);
+        assertFalse(body.contains("em " + first.plusDays(2)), body);
+    }
+
+    @Test
+    void notifyEvent_channelFailure_isPropagated() {
+        eventNotificationService = new EventNotificationService(List.of(loopback, failing()), eventMetrics, 100, 100);
+
+        assertThrows(RecoverableEventException.class,
+                () -> eventNotificationService.notifyEvent(entry(1L, "Reunião", user())));
+        assertEquals(1, meterRegistry.get("morpheus.notification.notify")
+                .tags("channel", "falho", "outcome", EventMetrics.OUTCOME_RECOVERABLE).timer().count());
+        assertEquals(1, meterRegistry.get("morpheus.notification.notify")
+                .tags("channel", "loopback", "type", "REMINDER", "outcome", EventMetrics.OUTCOME_SUCCESS).timer().count());
+    }
+
+    @Test
+    void notifyEvent_retryAfterChannelFailure_skipsChannelsAlreadyDelivered() {
+        eventNotificationService = new EventNotificationService(List.of(loopback, failing()), eventMetrics, 100, 100);
+        EventOutbox entry = entry(1L, "Reunião", user());
+
+        assertThrows(RecoverableEventException.class, () -> eventNotificationService.notifyEvent(entry));
+        assertTrue(entry.isDeliveredTo("loopback"));
+        assertFalse(entry.isDeliveredTo("falho"));
+
+        assertThrows(RecoverableEventException.class, () -> eventNotificationService.notifyEvent(entry));
+        assertEquals(1, loopback.delivered().size());
+        assertEquals(2, meterRegistry.get("morpheus.notification.notify")
+                .tags("channel", "falho", "outcome", EventMetrics.OUTCOME_RECOVERABLE).timer().count());
+    }
+
+    @Test
+    void notifyDigest_resendsChannelWhenAnyEntryIsMissingIt() {
+        eventNotificationService = new EventNotificationService(List.of(loopback), eventMetrics, 100, 100);
+        User user = user();
+        EventOutbox delivered = entry(1L, "A", user);
+        delivered.addDeliveredChannel("loopback");
+        EventOutbox pending = entry(2L, "B", user);
+
+        eventNotificationService.notifyDigest(user, EventType.REMINDER, List.of(delivered, pending));
+
+        assertEquals(1, loopback.delivered().size());
+        assertTrue(pending.isDeliveredTo("loopback"));
+    }
+
+    private static NotificationChannel failing() {
+        return new NotificationChannel() {
+            @Override
+            public String name() {
+                return "falho";
+            }
+
+            @Override
+            public ChannelLimits limits() {
+                return new ChannelLimits(1, 1, 1000, 10);
+            }
+
+            @Override
+            public void send(List<Notification> batch) {
+                throw new RecoverableEventException("indisponível");
+            }
+        };
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@teste.com");
+        return user;
+    }
+
+    private static EventOutbox entry(Long id, String title, User user) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        event.setType(EventType.REMINDER);
+        event.setScheduledFor(LocalDateTime.now());
+        event.setUser(user);
+        EventOutbox entry = new EventOutbox();
+        entry.setEvent(event);
+        entry.setOccurrenceAt(event.getScheduledFor());
+        return entry;
+    }
+}
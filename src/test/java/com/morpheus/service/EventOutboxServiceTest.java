@@ -0,0 +1,199 @@
+package com.morpheus.service;
+
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.enums.OutboxStatus;
+import com.morpheus.repository.EventOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxServiceTest {
+
+    @Mock
+    private EventOutboxRepository eventOutboxRepository;
+
+    @Mock
+    private EventLeaseService eventLeaseService;
+
+    private EventOutboxService eventOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        eventOutboxService = new EventOutboxService(eventOutboxRepository, eventLeaseService, 60, 3, 30, 100, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_savesEntriesAndAcknowledgesEvents() {
+        Event event = new Event();
+        event.setId(1L);
+        event.setScheduledFor(LocalDateTime.now());
+        Event inconsistent = new Event();
+
+        int enqueued = eventOutboxService.enqueue(List.of(event, inconsistent));
+
+        assertEquals(1, enqueued);
+        ArgumentCaptor<List<EventOutbox>> entries = ArgumentCaptor.forClass(List.class);
+        verify(eventOutboxRepository).saveAll(entries.capture());
+        assertEquals(1, entries.getValue().size());
+        assertSame(event, entries.getValue().get(0).getEvent());
+        assertEquals(OutboxStatus.PENDING, entries.getValue().get(0).getStatus());
+        assertEquals(event.getScheduledFor(), entries.getValue().get(0).getOccurrenceAt());
+        verify(eventLeaseService).acknowledge(List.of(1L));
+        verify(eventLeaseService, never()).advanceSeries(anyList());
+    }
+
+    @Test
+    void enqueue_recurringEvents_advanceSeriesInsteadOfAcknowledging() {
+        Event single = new Event();
+        single.setId(1L);
+        single.setScheduledFor(LocalDateTime.now());
+        Event series = new Event();
+        series.setId(2L);
+        series.setScheduledFor(LocalDateTime.now());
+        series.setRecurrenceRule("FREQ=DAILY");
+
+        assertEquals(2, eventOutboxService.enqueue(List.of(single, series)));
+
+        verify(eventLeaseService).acknowledge(List.of(1L));
+        verify(eventLeaseService).advanceSeries(List.of(series));
+    }
+
+    @Test
+    void enqueue_emptyOrNull_doesNothing() {
+        assertEquals(0, eventOutboxService.enqueue(List.of()));
+        assertEquals(0, eventOutboxService.enqueue(null));
+        verifyNoInteractions(eventOutboxRepository, eventLeaseService);
+    }
+
+    @Test
+    void claimBatch_locksAndExtendsLease() {
+        EventOutbox entry = new EventOutbox();
+        when(eventOutboxRepository.lockDeliverableIds(any(LocalDateTime.class), eq(10))).thenReturn(List.of(5L));
+        when(eventOutboxRepository.findWithEventByIdIn(List.of(5L))).thenReturn(List.of(entry));
+
+        assertEquals(List.of(entry), eventOutboxService.claimBatch(10));
+
+        verify(eventOutboxRepository).extendLease(eq(List.of(5L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void claimBatch_nothingLocked_returnsEmpty() {
+        when(eventOutboxRepository.lockDeliverableIds(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertTrue(eventOutboxService.claimBatch(10).isEmpty());
+
+        verify(eventOutboxRepository, never()).extendLease(anyList(), any());
+    }
+
+    @Test
+    void recordOutcome_retryableBelowLimit_reschedulesWithBackoff() {
+        EventOutbox first = outboxEntry(10L, 0);
+        EventOutbox second = outboxEntry(11L, 0);
+        LocalDateTime before = LocalDateTime.now();
+
+        eventOutboxService.recordOutcome(List.of(), Map.of(first, "timeout", second, "timeout"), Map.of());
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventOutboxRepository).markRetry(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(10L, 11L))),
+                eq("timeout"), isNull(), nextAttemptAt.capture());
+        assertFalse(nextAttemptAt.getValue().isBefore(before.plusSeconds(30)));
+        verify(eventOutboxRepository, never()).markDelivered(anyList(), any());
+        verify(eventOutboxRepository, never()).markFailed(anyList(), any());
+        verify(eventOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void recordOutcome_retryableAtLimit_marksFailed() {
+        EventOutbox entry = outboxEntry(10L, 2);
+
+        eventOutboxService.recordOutcome(List.of(), Map.of(entry, "timeout"), Map.of());
+
+        verify(eventOutboxRepository).markFailed(List.of(10L), "timeout");
+        verify(eventOutboxRepository, never()).markRetry(anyList(), any(), any(), any());
+    }
+
+    @Test
+    void recordOutcome_retryable_keepsChannelsAlreadyDelivered() {
+        EventOutbox partial = outboxEntry(10L, 0);
+        partial.addDeliveredChannel("sse");
+        EventOutbox untouched = outboxEntry(11L, 0);
+
+        eventOutboxService.recordOutcome(List.of(), Map.of(partial, "webhook", untouched, "webhook"), Map.of());
+
+        verify(eventOutboxRepository).markRetry(eq(List.of(10L)), eq("webhook"), eq("sse"), any());
+        verify(eventOutboxRepository).markRetry(eq(List.of(11L)), eq("webhook"), isNull(), any());
+    }
+
+    @Test
+    void recordOutcome_deliveredAndFailed() {
+        EventOutbox failed = outboxEntry(10L, 0);
+
+        eventOutboxService.recordOutcome(List.of(1L, 2L), Map.of(), Map.of(failed, "erro"));
+
+        verify(eventOutboxRepository).markDelivered(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(eventOutboxRepository).markFailed(List.of(10L), "erro");
+    }
+
+    @Test
+    void backoffSeconds_growsExponentiallyUpToMax() {
+        assertEquals(30, eventOutboxService.backoffSeconds(1));
+        assertEquals(60, eventOutboxService.backoffSeconds(2));
+        assertEquals(100, eventOutboxService.backoffSeconds(3));
+        assertEquals(100, eventOutboxService.backoffSeconds(40));
+    }
+
+    @Test
+    void coalescedAttemptAt_alignsToEndOfWindow() {
+        EventOutboxService coalescing = new EventOutboxService(eventOutboxRepository, eventLeaseService, 60, 3, 30, 100, 60);
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 1), coalescing.coalescedAttemptAt(LocalDateTime.of(2030, 1, 1, 9, 0)));
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 1), coalescing.coalescedAttemptAt(LocalDateTime.of(2030, 1, 1, 9, 0, 59, 999)));
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(now, eventOutboxService.coalescedAttemptAt(now));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_withCoalesceWindow_delaysFirstAttemptToWindowEnd() {
+        EventOutboxService coalescing = new EventOutboxService(eventOutboxRepository, eventLeaseService, 60, 3, 30, 100, 60);
+        Event event = new Event();
+        event.setId(1L);
+        event.setScheduledFor(LocalDateTime.now());
+
+        coalescing.enqueue(List.of(event));
+
+        ArgumentCaptor<List<EventOutbox>> entries = ArgumentCaptor.forClass(List.class);
+        verify(eventOutboxRepository).saveAll(entries.capture());
+        LocalDateTime nextAttemptAt = entries.getValue().get(0).getNextAttemptAt();
+        assertEquals(0, nextAttemptAt.getSecond());
+        assertTrue(nextAttemptAt.isAfter(entries.getValue().get(0).getCreatedAt()));
+    }
+
+    private static EventOutbox outboxEntry(Long id, int attempts) {
+        Event event = new Event();
+        event.setId(1L);
+        EventOutbox entry = new EventOutbox();
+        entry.setId(id);
+        entry.setEvent(event);
+        entry.setAttempts(attempts);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        return entry;
+    }
+}
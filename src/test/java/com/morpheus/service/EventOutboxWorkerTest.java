@@ -0,0 +1,207 @@
+package com.morpheus.service;
+
+import com.morpheus.exception.RecoverableEventException;
+import com.morpheus.metrics.EventMetrics;
+import com.morpheus.model.entity.Event;
+import com.morpheus.model.entity.EventOutbox;
+import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxWorkerTest {
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    @Mock
+    private EventNotificationService eventNotificationService;
+
+    private EventDispatcher eventDispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private EventMetrics eventMetrics;
+    private EventOutboxWorker eventOutboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        eventDispatcher = new EventDispatcher(4, 5000);
+        meterRegistry = new SimpleMeterRegistry();
+        eventMetrics = new EventMetrics(meterRegistry);
+        eventOutboxWorker = new EventOutboxWorker(eventOutboxService, eventNotificationService, eventDispatcher, eventMetrics, 2, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventOutboxWorker.shutdown();
+        eventDispatcher.shutdown();
+    }
+
+    @Test
+    void drainOutbox_deliversAllEntries() {
+        EventOutbox entry1 = entry(1L);
+        EventOutbox entry2 = entry(2L);
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of(entry1, entry2)).thenReturn(List.of());
+
+        int delivered = eventOutboxWorker.drainOutbox();
+
+        assertEquals(2, delivered);
+        verify(eventNotificationService).notifyEvent(entry1);
+        verify(eventNotificationService).notifyEvent(entry2);
+        verify(eventOutboxService).recordOutcome(List.of(1L, 2L), Map.of(), Map.of());
+        verify(eventOutboxService, times(2)).claimBatch(2);
+        assertEquals(2, meterRegistry.get("morpheus.outbox.deliveries").tag("outcome", EventMetrics.OUTCOME_SUCCESS).counter().count());
+        assertEquals(2, meterRegistry.get("morpheus.notification.lag").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainOutbox_recuperavelException_agendaNovaTentativa() {
+        EventOutbox entry1 = entry(1L);
+        EventOutbox entry2 = entry(2L);
+        lenient().doThrow(new RecoverableEventException("Falha recuperável")).when(eventNotificationService).notifyEvent(entry1);
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of(entry1, entry2)).thenReturn(List.of());
+
+        int delivered = eventOutboxWorker.drainOutbox();
+
+        assertEquals(1, delivered);
+        ArgumentCaptor<Map<EventOutbox, String>> retryable = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<EventOutbox, String>> failed = ArgumentCaptor.forClass(Map.class);
+        verify(eventOutboxService).recordOutcome(eq(List.of(2L)), retryable.capture(), failed.capture());
+        assertEquals(Map.of(entry1, "Falha recuperável"), retryable.getValue());
+        assertTrue(failed.getValue().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainOutbox_erroCritico_marcaFalhaSemInterromperOutros() {
+        EventOutbox entry1 = entry(1L);
+        EventOutbox entry2 = entry(2L);
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of(entry1, entry2)).thenReturn(List.of());
+        lenient().doThrow(new RuntimeException("Erro crítico")).when(eventNotificationService).notifyEvent(entry1);
+
+        int delivered = eventOutboxWorker.drainOutbox();
+
+        assertEquals(1, delivered);
+        ArgumentCaptor<Map<EventOutbox, String>> retryable = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<EventOutbox, String>> failed = ArgumentCaptor.forClass(Map.class);
+        verify(eventOutboxService).recordOutcome(eq(List.of(2L)), retryable.capture(), failed.capture());
+        assertTrue(retryable.getValue().isEmpty());
+        assertEquals(Map.of(entry1, "Erro crítico"), failed.getValue());
+    }
+
+    @Test
+    void requestDrain_coalescingWindow_drainsOnceAtEndOfWindow() {
+        LocalDateTime windowEnd = LocalDateTime.now().plusNanos(500_000_000L);
+        when(eventOutboxService.coalescedAttemptAt(any())).thenReturn(windowEnd);
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of());
+
+        eventOutboxWorker.requestDrain();
+        eventOutboxWorker.requestDrain();
+
+        verify(eventOutboxService, after(200).never()).claimBatch(anyInt());
+        verify(eventOutboxService, timeout(3000).times(1)).claimBatch(2);
+        verify(eventOutboxService, after(500).times(1)).claimBatch(2);
+    }
+
+    @Test
+    void requestDrain_withoutCoalescing_drainsImmediately() {
+        when(eventOutboxService.coalescedAttemptAt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of());
+
+        eventOutboxWorker.requestDrain();
+
+        verify(eventOutboxService, timeout(1000)).claimBatch(2);
+    }
+
+    @Test
+    void drainOutbox_emptyOutbox_doesNotRecordAnything() {
+        when(eventOutboxService.claimBatch(anyInt())).thenReturn(List.of());
+
+        assertEquals(0, eventOutboxWorker.drainOutbox());
+
+        verify(eventOutboxService, never()).recordOutcome(anyList(), anyMap(), anyMap());
+        verifyNoInteractions(eventNotificationService);
+    }
+
+    @Test
+    void drainOutbox_exceptionOnClaim_isLoggedAndReleasesGuard() {
+        when(eventOutboxService.claimBatch(anyInt())).thenThrow(new RuntimeException("Database error")).thenReturn(List.of());
+
+        assertEquals(0, eventOutboxWorker.drainOutbox());
+        assertEquals(0, eventOutboxWorker.drainOutbox());
+
+        verify(eventOutboxService, times(2)).claimBatch(2);
+    }
+
+    @Test
+    void drainOutbox_sameUserAndType_deliversSingleDigest() {
+        User user = new User();
+        user.setId(7L);
+        EventOutbox task1 = entry(1L, user, EventType.TASK);
+        EventOutbox task2 = entry(2L, user, EventType.TASK);
+        EventOutbox meeting = entry(3L, user, EventType.MEETING);
+        eventOutboxWorker = new EventOutboxWorker(eventOutboxService, eventNotificationService, eventDispatcher, eventMetrics, 10, 7);
+        when(eventOutboxService.claimBatch(10)).thenReturn(List.of(task1, task2, meeting));
+
+        assertEquals(3, eventOutboxWorker.drainOutbox());
+
+        verify(eventNotificationService).notifyDigest(user, EventType.TASK, List.of(task1, task2));
+        verify(eventNotificationService).notifyEvent(meeting);
+        verifyNoMoreInteractions(eventNotificationService);
+        verify(eventOutboxService).recordOutcome(argThat(ids -> ids.size() == 3 && ids.containsAll(List.of(1L, 2L, 3L))), eq(Map.of()), eq(Map.of()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainOutbox_digestFailure_appliesToAllItsEntries() {
+        User user = new User();
+        user.setId(7L);
+        EventOutbox task1 = entry(1L, user, EventType.TASK);
+        EventOutbox task2 = entry(2L, user, EventType.TASK);
+        when(eventOutboxService.claimBatch(2)).thenReturn(List.of(task1, task2)).thenReturn(List.of());
+        doThrow(new RecoverableEventException("Canal indisponível")).when(eventNotificationService)
+                .notifyDigest(user, EventType.TASK, List.of(task1, task2));
+
+        assertEquals(0, eventOutboxWorker.drainOutbox());
+
+        ArgumentCaptor<Map<EventOutbox, String>> retryable = ArgumentCaptor.forClass(Map.class);
+        verify(eventOutboxService).recordOutcome(eq(List.of()), retryable.capture(), eq(Map.of()));
+        assertEquals(Map.of(task1, "Canal indisponível", task2, "Canal indisponível"), retryable.getValue());
+    }
+
+    private static EventOutbox entry(Long id, User user, EventType type) {
+        EventOutbox entry = entry(id);
+        entry.getEvent().setUser(user);
+        entry.getEvent().setType(type);
+        return entry;
+    }
+
+    private static EventOutbox entry(Long id) {
+        Event event = new Event();
+        event.setId(id * 10);
+        EventOutbox entry = new EventOutbox();
+        entry.setId(id);
+        entry.setEvent(event);
+        entry.setOccurrenceAt(LocalDateTime.now().minusSeconds(5));
+        return entry;
+    }
+}
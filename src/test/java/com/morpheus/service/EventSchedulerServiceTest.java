@@ -1,6 +1,6 @@
 package com.morpheus.service;
 
-import com.morpheus.exception.RecoverableEventException;
+import com.morpheus.metrics.EventMetrics;
 import com.morpheus.model.entity.Event;
 import com.morpheus.model.entity.User;
 import com.morpheus.repository.EventRepository;
@@ -16,9 +16,14 @@ import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,7 +33,25 @@ class EventSchedulerServiceTest {
     private EventRepository eventRepository;
 
     @Mock
-    private EventNotificationService eventNotificationService;
+    private EventOutboxService eventOutboxService;
+
+    @Mock
+    private EventOutboxWorker eventOutboxWorker;
+
+    @Mock
+    private EventListCache eventListCache;
+
+    @Mock
+    private EventTimingWheel eventTimingWheel;
+
+    @Mock
+    private EventLeaseService eventLeaseService;
+
+    @Mock
+    private EventCatchUpService eventCatchUpService;
+
+    @Mock
+    private EventMetrics eventMetrics;
 
     @InjectMocks
     private EventSchedulerService eventSchedulerService;
@@ -53,13 +76,14 @@ class EventSchedulerServiceTest {
         field.setAccessible(true);
         field.set(eventSchedulerService, false);
         eventSchedulerService.checkScheduledEvents();
-        verify(eventRepository, never()).findByNotifiedFalseAndScheduledForBetween(any(), any());
+        verify(eventLeaseService, never()).claimDueEvents(any(), any(), anyInt());
+        verify(eventRepository, never()).findNextPendingPage(any(), any(), any(), any());
     }
 
     @Test
     void checkScheduledEvents_pendingEventsAreNotifiedAndSaved() throws Exception {
         Event event = mock(Event.class);
-        when(eventRepository.findByNotifiedFalseAndScheduledForBetween(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(event));
+        when(eventLeaseService.claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
         when(event.getUser()).thenReturn(null);
         when(event.getTitle()).thenReturn("Título teste");
         when(event.getId()).thenReturn(1L);
@@ -75,6 +99,9 @@ class EventSchedulerServiceTest {
         LocalDateTime testStart = LocalDateTime.now();
         assertDoesNotThrow(() -> eventSchedulerService.checkScheduledEvents());
 
+        ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> endCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventLeaseService).claimDueEvents(startCaptor.capture(), endCaptor.capture(), eq(500));
         LocalDateTime capturedStart = startCaptor.getValue();
         LocalDateTime capturedEnd = endCaptor.getValue();
         LocalDateTime expectedStart = testStart.minusMinutes(5);
@@ -82,153 +109,173 @@ class EventSchedulerServiceTest {
         assertTrue(!capturedStart.isBefore(expectedStart.minusSeconds(1)) && !capturedStart.isAfter(expectedStart.plusSeconds(1)));
         assertTrue(!capturedEnd.isBefore(expectedEnd.minusSeconds(1)) && !capturedEnd.isAfter(expectedEnd.plusSeconds(1)));
 
-        verify(event, never()).setNotified(true);
-        verify(eventRepository, never()).saveAll(any());
+        verify(eventOutboxService).enqueue(List.of(event));
+        verify(eventCatchUpService).recordTick(capturedStart, capturedEnd);
     }
 
     @Test
-    void notifyEvents_emptyList_doesNotSaveAnything() throws Exception {
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
+    void enqueueDueEvents_emptyList_doesNotEnqueueAnything() throws Exception {
+        Method method = EventSchedulerService.class.getDeclaredMethod("enqueueDueEvents", List.class);
         method.setAccessible(true);
         method.invoke(eventSchedulerService, Collections.emptyList());
-        verify(eventRepository, never()).saveAll(any());
+        verify(eventOutboxService, never()).enqueue(any());
     }
 
     @Test
     void checkScheduledEvents_exceptionOnQuery_logsError() {
-        when(eventRepository.findByNotifiedFalseAndScheduledForBetween(any(LocalDateTime.class), any(LocalDateTime.class))).thenThrow(new RuntimeException("Database error"));
+        when(eventLeaseService.claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenThrow(new RuntimeException("Database error"));
         eventSchedulerService.checkScheduledEvents();
-        verify(eventRepository, never()).saveAll(any());
+        verify(eventOutboxService, never()).enqueue(any());
+        verify(eventCatchUpService, never()).recordTick(any(), any());
     }
 
     @Test
-    void notifyEvents_exceptionOnSave_logsError() throws Exception {
-        Event event = mock(Event.class);
-        User user = mock(User.class);
-        when(user.getId()).thenReturn(1L);
-        when(user.getName()).thenReturn("usuário");
-        when(event.getUser()).thenReturn(user);
-        when(event.getId()).thenReturn(1L);
-        when(event.getScheduledFor()).thenReturn(LocalDateTime.now());
-        when(event.getTitle()).thenReturn("Evento Teste");
-        when(event.getUser()).thenReturn(user);
-        when(event.getId()).thenReturn(1L);
-        when(event.getScheduledFor()).thenReturn(java.time.LocalDateTime.now());
-        when(event.getDescription()).thenReturn("Descrição do evento");
-        when(event.getType()).thenReturn(null);
-        when(event.getCreatedAt()).thenReturn(LocalDateTime.now());
-        when(event.getUpdatedAt()).thenReturn(LocalDateTime.now());
-        doNothing().when(eventNotificationService).notifyEvent(event);
-        doThrow(new RuntimeException("Error on save")).when(eventRepository).saveAll(any());
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
+    void enqueueDueEvents_exceptionOnEnqueue_throwsRuntimeException() throws Exception {
+        Event event = mockDueEvent(1L);
+        when(eventOutboxService.enqueue(List.of(event))).thenThrow(new RuntimeException("Error on save"));
+        Method method = EventSchedulerService.class.getDeclaredMethod("enqueueDueEvents", List.class);
         method.setAccessible(true);
         Exception exception = assertThrows(InvocationTargetException.class, () -> method.invoke(eventSchedulerService, List.of(event)));
         assertTrue(exception.getCause() instanceof RuntimeException);
-        verify(eventRepository).saveAll(any());
+        verify(eventOutboxWorker, never()).requestDrain();
     }
 
     @Test
-    void notifyEvents_exceptionOnNotifyEvent_logsError() throws Exception {
-        Event event = mock(Event.class);
-        when(event.getUser()).thenThrow(new RuntimeException("Error accessing user"));
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
+    void enqueueDueEvents_enqueuesAndRequestsDrain() throws Exception {
+        Event event1 = mockDueEvent(1L);
+        Event event2 = mockDueEvent(2L);
+        User user = new User();
+        user.setId(9L);
+        when(event1.getUser()).thenReturn(user);
+        when(event2.getUser()).thenReturn(user);
+        List<Event> events = List.of(event1, event2);
+        when(eventOutboxService.enqueue(events)).thenReturn(2);
+        Method method = EventSchedulerService.class.getDeclaredMethod("enqueueDueEvents", List.class);
         method.setAccessible(true);
-        method.invoke(eventSchedulerService, List.of(event));
-        verify(eventRepository, never()).saveAll(any());
+        int enqueuedCount = (int) method.invoke(eventSchedulerService, events);
+        verify(eventOutboxService).enqueue(events);
+        verify(eventOutboxWorker).requestDrain();
+        verify(eventListCache).invalidateAll(Set.of(9L));
+        assertEquals(2, enqueuedCount);
     }
 
     @Test
-    void notifyEvents_nullList_doesNotSaveAnything() throws Exception {
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
+    void enqueueDueEvents_nothingEnqueued_doesNotRequestDrain() throws Exception {
+        Event event = mock(Event.class);
+        when(eventOutboxService.enqueue(List.of(event))).thenReturn(0);
+        Method method = EventSchedulerService.class.getDeclaredMethod("enqueueDueEvents", List.class);
         method.setAccessible(true);
-        method.invoke(eventSchedulerService, (Object) null);
-        verify(eventRepository, never()).saveAll(any());
+        int enqueuedCount = (int) method.invoke(eventSchedulerService, List.of(event));
+        verify(eventOutboxWorker, never()).requestDrain();
+        assertEquals(0, enqueuedCount);
     }
 
     @Test
-    void notifyAndMarkEvents_notifiesAllEventsInParallel_andSaves() throws Exception {
-        Event event1 = mock(Event.class);
-        Event event2 = mock(Event.class);
-        when(event1.getId()).thenReturn(1L);
-        when(event1.getScheduledFor()).thenReturn(LocalDateTime.now());
-        when(event2.getId()).thenReturn(2L);
-        when(event2.getScheduledFor()).thenReturn(LocalDateTime.now());
-        List<Event> events = List.of(event1, event2);
-        doNothing().when(eventNotificationService).notifyEvent(any(Event.class));
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
+    void enqueueDueEvents_listaVazia_ouNula_naoEnfileiraNada() throws Exception {
+        Method method = EventSchedulerService.class.getDeclaredMethod("enqueueDueEvents", List.class);
         method.setAccessible(true);
-        int notifiedCount = (int) method.invoke(eventSchedulerService, events);
-        verify(eventNotificationService, times(2)).notifyEvent(any(Event.class));
-        verify(event1).setNotified(true);
-        verify(event2).setNotified(true);
-        verify(eventRepository).saveAll(anyList());
-        assertEquals(2, notifiedCount);
+        int enqueuedCount1 = (int) method.invoke(eventSchedulerService, Collections.emptyList());
+        int enqueuedCount2 = (int) method.invoke(eventSchedulerService, (Object) null);
+        verify(eventOutboxService, never()).enqueue(any());
+        verify(eventOutboxWorker, never()).requestDrain();
+        assertEquals(0, enqueuedCount1);
+        assertEquals(0, enqueuedCount2);
     }
 
     @Test
-    void notifyAndMarkEvents_eventInconsistente_lancaExcecao() throws Exception {
-        Event event = mock(Event.class);
-        when(event.getId()).thenReturn(null);
-        when(event.getScheduledFor()).thenReturn(LocalDateTime.now());
-        List<Event> events = List.of(event);
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
-        method.setAccessible(true);
-        assertDoesNotThrow(() -> method.invoke(eventSchedulerService, List.of(event)));
-        verify(eventNotificationService, never()).notifyEvent(any());
-        verify(eventRepository, never()).saveAll(any());
+    void checkScheduledEvents_wheelRunning_preloadsUpcomingEvents() throws Exception {
+        Event upcoming = mock(Event.class);
+        LocalDateTime scheduledFor = LocalDateTime.now().plusMinutes(2);
+        when(upcoming.getId()).thenReturn(7L);
+        when(upcoming.getScheduledFor()).thenReturn(scheduledFor);
+        when(eventTimingWheel.isRunning()).thenReturn(true);
+        when(eventTimingWheel.getHorizonMillis()).thenReturn(600_000L);
+        when(eventLeaseService.claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(Collections.emptyList());
+        when(eventRepository.findNextPendingPage(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(upcoming));
+
+        Field scheduler = EventSchedulerService.class.getDeclaredField("schedulerEnabled");
+        scheduler.setAccessible(true);
+        scheduler.set(eventSchedulerService, true);
+
+        eventSchedulerService.checkScheduledEvents();
+
+        verify(eventRepository).findNextPendingPage(any(LocalDateTime.class), eq(0L), any(LocalDateTime.class), eq(Limit.of(500)));
+        verify(eventTimingWheel).schedule(7L, scheduledFor);
     }
 
     @Test
-    void notifyAndMarkEvents_recuperavelException_naoInterrompeProcessamento() throws Exception {
-        Event event1 = mock(Event.class);
-        Event event2 = mock(Event.class);
-        when(event1.getId()).thenReturn(1L);
-        when(event1.getScheduledFor()).thenReturn(LocalDateTime.now());
-        when(event2.getId()).thenReturn(2L);
-        when(event2.getScheduledFor()).thenReturn(LocalDateTime.now());
-        doThrow(new RecoverableEventException("Falha recuperável")).when(eventNotificationService).notifyEvent(event1);
-        doNothing().when(eventNotificationService).notifyEvent(event2);
-        List<Event> events = List.of(event1, event2);
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
-        method.setAccessible(true);
-        int notifiedCount = (int) method.invoke(eventSchedulerService, events);
-        verify(eventNotificationService).notifyEvent(event1);
-        verify(eventNotificationService).notifyEvent(event2);
-        verify(event2).setNotified(true);
-        verify(eventRepository).saveAll(anyList());
-        assertEquals(1, notifiedCount);
+    void fireDueEvents_enqueuesOnlyClaimedEvents() {
+        Event due = mockDueEvent(1L);
+        when(eventLeaseService.claimEvents(List.of(1L, 2L))).thenReturn(List.of(due));
+        when(eventOutboxService.enqueue(List.of(due))).thenReturn(1);
+
+        eventSchedulerService.fireDueEvents(List.of(1L, 2L));
+
+        verify(eventOutboxService).enqueue(List.of(due));
+        verify(eventOutboxWorker).requestDrain();
     }
 
     @Test
-    void notifyAndMarkEvents_erroCritico_naoInterrompeOutros() throws Exception {
+    void checkScheduledEvents_fullClaimBatch_claimsNextBatch() throws Exception {
+        Field scheduler = EventSchedulerService.class.getDeclaredField("schedulerEnabled");
+        scheduler.setAccessible(true);
+        scheduler.set(eventSchedulerService, true);
+        Field pageSizeField = EventSchedulerService.class.getDeclaredField("pageSize");
+        pageSizeField.setAccessible(true);
+        pageSizeField.set(eventSchedulerService, 2);
+
+        Event event1 = mockDueEvent(1L);
+        Event event2 = mockDueEvent(2L);
+        Event event3 = mockDueEvent(3L);
+        when(eventLeaseService.claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(event1, event2))
+                .thenReturn(List.of(event3));
+
+        eventSchedulerService.checkScheduledEvents();
+
+        verify(eventOutboxService).enqueue(List.of(event1, event2));
+        verify(eventOutboxService).enqueue(List.of(event3));
+        verify(eventLeaseService, times(2)).claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    void checkScheduledEvents_fullPreloadPage_continuesFromLastKey() throws Exception {
+        Field scheduler = EventSchedulerService.class.getDeclaredField("schedulerEnabled");
+        scheduler.setAccessible(true);
+        scheduler.set(eventSchedulerService, true);
+        Field pageSizeField = EventSchedulerService.class.getDeclaredField("pageSize");
+        pageSizeField.setAccessible(true);
+        pageSizeField.set(eventSchedulerService, 2);
+        when(eventTimingWheel.isRunning()).thenReturn(true);
+        when(eventTimingWheel.getHorizonMillis()).thenReturn(600_000L);
+        when(eventLeaseService.claimDueEvents(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(Collections.emptyList());
+
+        LocalDateTime base = LocalDateTime.now().plusMinutes(1);
         Event event1 = mock(Event.class);
         Event event2 = mock(Event.class);
+        Event event3 = mock(Event.class);
         when(event1.getId()).thenReturn(1L);
-        when(event1.getScheduledFor()).thenReturn(LocalDateTime.now());
+        when(event1.getScheduledFor()).thenReturn(base);
         when(event2.getId()).thenReturn(2L);
-        when(event2.getScheduledFor()).thenReturn(LocalDateTime.now());
-        doThrow(new RuntimeException("Erro crítico")).when(eventNotificationService).notifyEvent(event1);
-        doNothing().when(eventNotificationService).notifyEvent(event2);
-        List<Event> events = List.of(event1, event2);
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
-        method.setAccessible(true);
-        int notifiedCount = (int) method.invoke(eventSchedulerService, events);
-        verify(eventNotificationService).notifyEvent(event1);
-        verify(eventNotificationService).notifyEvent(event2);
-        verify(event2).setNotified(true);
-        verify(eventRepository).saveAll(anyList());
-        assertEquals(1, notifiedCount);
+        when(event2.getScheduledFor()).thenReturn(base.plusSeconds(30));
+        when(event3.getId()).thenReturn(3L);
+        when(event3.getScheduledFor()).thenReturn(base.plusSeconds(60));
+        when(eventRepository.findNextPendingPage(any(LocalDateTime.class), eq(0L), any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(event1, event2));
+        when(eventRepository.findNextPendingPage(eq(base.plusSeconds(30)), eq(2L), any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(event3));
+
+        eventSchedulerService.checkScheduledEvents();
+
+        verify(eventTimingWheel, times(3)).schedule(anyLong(), any(LocalDateTime.class));
+        verify(eventRepository, times(2)).findNextPendingPage(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class));
     }
 
-    @Test
-    void notifyAndMarkEvents_listaVazia_ouNula_naoSalvaNada() throws Exception {
-        Method method = EventSchedulerService.class.getDeclaredMethod("notifyAndMarkEvents", List.class);
-        method.setAccessible(true);
-        int notifiedCount1 = (int) method.invoke(eventSchedulerService, Collections.emptyList());
-        int notifiedCount2 = (int) method.invoke(eventSchedulerService, (Object) null);
-        verify(eventNotificationService, never()).notifyEvent(any());
-        verify(eventRepository, never()).saveAll(any());
-        assertEquals(0, notifiedCount1);
-        assertEquals(0, notifiedCount2);
+    private Event mockDueEvent(Long id) {
+        Event event = mock(Event.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getScheduledFor()).thenReturn(LocalDateTime.now().minusMinutes(1));
+        return event;
     }
 }
@@ -1,5 +1,9 @@
 package com.morpheus.service;
 
+import com.morpheus.dto.EventCursor;
+import com.morpheus.dto.EventFilter;
+import com.morpheus.dto.EventOccurrence;
+import com.morpheus.dto.EventPage;
 import com.morpheus.dto.EventRequest;
 import com.morpheus.dto.EventResponse;
 import com.morpheus.exception.EventNotFoundException;
@@ -7,22 +11,34 @@ import com.morpheus.exception.UnauthorizedEventAccessException;
 import com.morpheus.exception.UserNotFoundException;
 import com.morpheus.model.entity.Event;
 import com.morpheus.model.entity.User;
+import com.morpheus.model.enums.EventType;
+import com.morpheus.repository.EventBulkRepository;
 import com.morpheus.repository.EventRepository;
 import com.morpheus.repository.UserRepository;
+import com.morpheus.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -33,7 +49,13 @@ class EventServiceTest {
     private UserRepository userRepository;
     @Mock
     private EventRepository eventRepository;
-    @InjectMocks
+    @Mock
+    private EventTimingWheel eventTimingWheel;
+    @Spy
+    private EventListCache eventListCache = new EventListCache(100, 60);
+    @Mock
+    private EventBulkRepository eventBulkRepository;
+    private UserIdentityCache userIdentityCache;
     private EventService eventService;
 
     private User user;
@@ -53,17 +75,21 @@ class EventServiceTest {
         event.setScheduledFor(LocalDateTime.now());
         event.setNotified(false);
         eventRequest = new EventRequest("Evento Teste", "Descrição", com.morpheus.model.enums.EventType.MEETING, LocalDateTime.now().plusDays(1));
+        userIdentityCache = new UserIdentityCache(userRepository, 100, 600);
+        eventService = new EventService(userRepository, eventRepository, eventTimingWheel, eventListCache, userIdentityCache, eventBulkRepository);
     }
 
     @Test
     @DisplayName("Deve criar evento com sucesso")
     void createEvent_success() {
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
         when(eventRepository.save(any(Event.class))).thenReturn(event);
         EventResponse response = eventService.createEvent(user.getEmail(), eventRequest);
         assertNotNull(response);
         verify(userRepository).findByEmail(user.getEmail());
         verify(eventRepository).save(any(Event.class));
+        verify(eventTimingWheel).schedule(event.getId(), event.getScheduledFor());
     }
 
     @Test
@@ -79,12 +105,50 @@ class EventServiceTest {
     @DisplayName("Deve listar eventos do usuário")
     void listEvents_success() {
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(eventRepository.findByUser(user)).thenReturn(Collections.singletonList(event));
+        when(eventRepository.findResponsesByUserId(user.getId())).thenReturn(Collections.singletonList(toResponse(event)));
         var responses = eventService.listEvents(user.getEmail());
         assertEquals(1, responses.size());
         assertEquals(event.getId(), responses.get(0).id());
         verify(userRepository).findByEmail(user.getEmail());
-        verify(eventRepository).findByUser(user);
+        verify(eventRepository).findResponsesByUserId(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve servir a segunda listagem do cache")
+    void listEvents_secondCall_servedFromCache() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(eventRepository.findResponsesByUserId(user.getId())).thenReturn(Collections.singletonList(toResponse(event)));
+        var first = eventService.listEvents(user.getEmail());
+        var second = eventService.listEvents(user.getEmail());
+        assertEquals(first, second);
+        verify(eventRepository, times(1)).findResponsesByUserId(user.getId());
+        assertEquals(1, eventListCache.stats().hitCount());
+        assertEquals(1, eventListCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache de listagem ao criar evento")
+    void createEvent_invalidatesListCache() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(eventRepository.findResponsesByUserId(user.getId())).thenReturn(Collections.singletonList(toResponse(event)));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        eventService.listEvents(user.getEmail());
+        eventService.createEvent(user.getEmail(), eventRequest);
+        eventService.listEvents(user.getEmail());
+        verify(eventListCache).invalidate(user.getId());
+        verify(eventRepository, times(2)).findResponsesByUserId(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve resolver o usuário pelo cache de identidades nas chamadas seguintes")
+    void listEvents_resolvesUserFromIdentityCache() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(eventRepository.findResponsesByUserId(user.getId())).thenReturn(Collections.singletonList(toResponse(event)));
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        eventService.listEvents(user.getEmail());
+        eventService.deleteEvent(event.getId(), user.getEmail());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
     }
 
     @Test
@@ -93,7 +157,7 @@ class EventServiceTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         assertThrows(UserNotFoundException.class, () -> eventService.listEvents("notfound@email.com"));
         verify(userRepository).findByEmail(anyString());
-        verify(eventRepository, never()).findByUser(any(User.class));
+        verify(eventRepository, never()).findResponsesByUserId(anyLong());
     }
 
     @Test
@@ -107,6 +171,7 @@ class EventServiceTest {
         verify(userRepository).findByEmail(user.getEmail());
         verify(eventRepository).findById(event.getId());
         verify(eventRepository).save(any(Event.class));
+        verify(eventTimingWheel).schedule(event.getId(), eventRequest.scheduledFor());
     }
 
     @Test
@@ -139,5 +204,245 @@ class EventServiceTest {
         assertThrows(UnauthorizedEventAccessException.class, () -> eventService.updateEvent(event.getId(), user.getEmail(), eventRequest));
         verify(userRepository).findByEmail(user.getEmail());
         verify(eventRepository).findById(event.getId());
+        verifyNoInteractions(eventTimingWheel);
+    }
+
+    @Test
+    @DisplayName("Deve excluir evento e removê-lo da roda de tempo")
+    void deleteEvent_success() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        eventService.deleteEvent(event.getId(), user.getEmail());
+        verify(eventRepository).delete(event);
+        verify(eventTimingWheel).cancel(event.getId());
+        verify(eventListCache).invalidate(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve listar eventos sem consultar usuários quando o token traz o id")
+    void listEvents_principalWithId_skipsUserLookup() {
+        when(eventRepository.findResponsesByUserId(user.getId())).thenReturn(Collections.singletonList(toResponse(event)));
+        var responses = eventService.listEvents(new AuthenticatedUser(user.getId(), user.getEmail()));
+        assertEquals(1, responses.size());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve negar atualização de evento de outro usuário usando o id do token")
+    void updateEvent_principalWithId_unauthorized() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        event.setUser(otherUser);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        assertThrows(UnauthorizedEventAccessException.class,
+                () -> eventService.updateEvent(event.getId(), new AuthenticatedUser(user.getId(), user.getEmail()), eventRequest));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve paginar eventos por cursor e indicar a próxima página")
+    void listEventsPage_returnsNextCursor() {
+        Event second = new Event();
+        second.setId(2L);
+        second.setUser(user);
+        second.setTitle("Segundo");
+        second.setScheduledFor(event.getScheduledFor().plusHours(1));
+        EventFilter filter = new EventFilter(null, null, EventType.MEETING, false);
+        when(eventRepository.findUserEventsPage(user.getId(), null, null, EventType.MEETING, false, null, null, Limit.of(2)))
+                .thenReturn(List.of(toResponse(event), toResponse(second)));
+
+        EventPage page = eventService.listEvents(new AuthenticatedUser(user.getId(), user.getEmail()), filter, null, 1, true);
+
+        assertEquals(1, page.items().size());
+        assertEquals(event.getId(), page.items().get(0).id());
+        EventCursor next = EventCursor.decode(page.nextCursor());
+        assertEquals(event.getScheduledFor(), next.scheduledFor());
+        assertEquals(event.getId(), next.id());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor e encerrar na última página")
+    void listEventsPage_lastPage() {
+        String cursor = new EventCursor(event.getScheduledFor(), event.getId()).encode();
+        when(eventRepository.findUserEventsPage(user.getId(), null, null, null, null, event.getScheduledFor(), event.getId(), Limit.of(11)))
+                .thenReturn(List.of());
+
+        EventPage page = eventService.listEvents(new AuthenticatedUser(user.getId(), user.getEmail()), EventFilter.none(), cursor, 10, true);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void listEventsPage_invalidCursor() {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        assertThrows(IllegalArgumentException.class, () -> eventService.listEvents(principal, EventFilter.none(), "@@invalido", 10, true));
+    }
+
+    @Test
+    @DisplayName("Deve transmitir todos os eventos percorrendo as páginas")
+    void streamEvents_walksAllPages() {
+        List<EventResponse> firstPage = new ArrayList<>();
+        for (long i = 1; i <= EventService.MAX_PAGE_SIZE; i++) {
+            firstPage.add(new EventResponse(i, "Evento " + i, EventType.TASK, event.getScheduledFor().plusMinutes(i), false, null));
+        }
+        EventResponse lastOfFirst = firstPage.get(firstPage.size() - 1);
+        when(eventRepository.findUserEventsPage(user.getId(), null, null, null, null, null, null, Limit.of(EventService.MAX_PAGE_SIZE)))
+                .thenReturn(firstPage);
+        when(eventRepository.findUserEventsPage(user.getId(), null, null, null, null, lastOfFirst.scheduledFor(), lastOfFirst.id(), Limit.of(EventService.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(toResponse(event)));
+        List<EventResponse> received = new ArrayList<>();
+
+        long count = eventService.streamEvents(new AuthenticatedUser(user.getId(), user.getEmail()), null, true, received::add);
+
+        assertEquals(EventService.MAX_PAGE_SIZE + 1, count);
+        assertEquals(EventService.MAX_PAGE_SIZE + 1, received.size());
+        verify(eventRepository, times(2)).findUserEventsPage(anyLong(), any(), any(), any(), any(), any(), any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Deve usar a projeção sem descrição quando solicitado")
+    void listEventsPage_withoutDescription_usesSummaryProjection() {
+        EventResponse summary = new EventResponse(event.getId(), event.getTitle(), EventType.MEETING, event.getScheduledFor(), false, null);
+        when(eventRepository.findUserEventSummariesPage(user.getId(), null, null, null, null, null, null, Limit.of(11)))
+                .thenReturn(List.of(summary));
+
+        EventPage page = eventService.listEvents(new AuthenticatedUser(user.getId(), user.getEmail()), EventFilter.none(), null, 10, false);
+
+        assertEquals(List.of(summary), page.items());
+        assertNull(page.items().get(0).description());
+        verify(eventRepository, never()).findUserEventsPage(anyLong(), any(), any(), any(), any(), any(), any(), any(Limit.class));
+    }
+
+    private static EventResponse toResponse(Event event) {
+        return new EventResponse(event.getId(), event.getTitle(), event.getDescription(), event.getType(), event.getScheduledFor(), event.isNotified());
+    }
+
+    @Test
+    @DisplayName("Deve importar eventos em lotes, gravar os vencidos como notificados e agendar apenas os futuros")
+    @SuppressWarnings("unchecked")
+    void importEvents_insertsInBatches() {
+        List<EventRequest> requests = new ArrayList<>();
+        for (int i = 0; i < EventService.IMPORT_BATCH_SIZE + 1; i++) {
+            LocalDateTime scheduledFor = i == 0 ? LocalDateTime.now().minusDays(1) : LocalDateTime.now().plusMinutes(i);
+            requests.add(new EventRequest("Evento " + i, null, EventType.REMINDER, scheduledFor));
+        }
+        AtomicLong nextId = new AtomicLong(100);
+        when(eventBulkRepository.insertBatch(eq(user.getId()), anyList()))
+                .thenAnswer(invocation -> {
+                    List<Event> chunk = invocation.getArgument(1);
+                    return chunk.stream().map(request -> nextId.getAndIncrement()).toList();
+                });
+
+        int imported = eventService.importEvents(new AuthenticatedUser(user.getId(), user.getEmail()), requests.iterator());
+
+        assertEquals(EventService.IMPORT_BATCH_SIZE + 1, imported);
+        ArgumentCaptor<List<Event>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(eventBulkRepository, times(2)).insertBatch(eq(user.getId()), chunks.capture());
+        assertTrue(chunks.getAllValues().get(0).get(0).isNotified());
+        assertFalse(chunks.getAllValues().get(0).get(1).isNotified());
+        verify(eventTimingWheel, never()).schedule(eq(100L), any());
+        verify(eventTimingWheel).schedule(101L, requests.get(1).scheduledFor());
+        verify(eventTimingWheel, times(EventService.IMPORT_BATCH_SIZE)).schedule(anyLong(), any());
+        verify(eventListCache).invalidate(user.getId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve agendar e invalidar o cache da importação somente após o commit")
+    void importEvents_defersSideEffectsUntilCommit() {
+        List<EventRequest> requests = List.of(new EventRequest("Futuro", null, EventType.TASK, LocalDateTime.now().plusHours(1)));
+        when(eventBulkRepository.insertBatch(eq(user.getId()), anyList())).thenReturn(List.of(100L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventService.importEvents(new AuthenticatedUser(user.getId(), user.getEmail()), requests.iterator());
+
+            verifyNoInteractions(eventTimingWheel);
+            verify(eventListCache, never()).invalidate(anyLong());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(eventTimingWheel).schedule(100L, requests.get(0).scheduledFor());
+        verify(eventListCache).invalidate(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar importação com evento inválido informando a posição")
+    void importEvents_invalidEvent_rejected() {
+        List<EventRequest> requests = List.of(
+                new EventRequest("Válido", null, EventType.TASK, LocalDateTime.now()),
+                new EventRequest("Sem data", null, EventType.TASK, null));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> eventService.importEvents(new AuthenticatedUser(user.getId(), user.getEmail()), requests.iterator()));
+
+        assertTrue(ex.getMessage().contains("posição 2"));
+        verifyNoInteractions(eventBulkRepository);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar série recorrente na primeira ocorrência futura")
+    void createEvent_recurring_startsAtNextOccurrence() {
+        LocalDateTime birthday = LocalDateTime.now().minusYears(30).withNano(0);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        EventRequest request = new EventRequest("Aniversário", null, EventType.BIRTHDAY, birthday, "freq=yearly");
+
+        EventResponse response = eventService.createEvent(new AuthenticatedUser(user.getId(), user.getEmail()), request);
+
+        LocalDateTime expected = birthday.plusYears(30).isBefore(LocalDateTime.now()) ? birthday.plusYears(31) : birthday.plusYears(30);
+        assertEquals(expected, response.scheduledFor());
+        assertEquals("FREQ=YEARLY", response.recurrence());
+        assertFalse(response.notified());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar regra de recorrência inválida")
+    void createEvent_invalidRecurrence() {
+        EventRequest request = new EventRequest("Lembrete", null, EventType.REMINDER, LocalDateTime.now(), "FREQ=HOURLY");
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.createEvent(new AuthenticatedUser(user.getId(), user.getEmail()), request));
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve expandir séries apenas dentro da janela de ocorrências")
+    void listOccurrences_expandsSeriesWithinWindow() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 23, 59);
+        Event daily = new Event();
+        daily.setId(2L);
+        daily.setTitle("Diário");
+        daily.setType(EventType.REMINDER);
+        daily.setRecurrenceRule("FREQ=DAILY");
+        daily.setSeriesStart(LocalDateTime.of(2029, 12, 30, 8, 0));
+        daily.setScheduledFor(LocalDateTime.of(2030, 1, 3, 8, 0));
+        daily.setOccurrenceIndex(4);
+        event.setScheduledFor(LocalDateTime.of(2030, 1, 2, 12, 0));
+        when(eventRepository.findOccurrenceCandidates(user.getId(), from, to)).thenReturn(List.of(event, daily));
+
+        List<EventOccurrence> occurrences = eventService.listOccurrences(new AuthenticatedUser(user.getId(), user.getEmail()), from, to);
+
+        assertEquals(6, occurrences.size());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 8, 0), occurrences.get(0).occursAt());
+        assertTrue(occurrences.get(0).notified());
+        assertEquals(event.getId(), occurrences.get(2).eventId());
+        assertEquals(LocalDateTime.of(2030, 1, 3, 8, 0), occurrences.get(3).occursAt());
+        assertFalse(occurrences.get(3).notified());
+        assertEquals(LocalDateTime.of(2030, 1, 5, 8, 0), occurrences.get(5).occursAt());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar janela de ocorrências inválida ou longa demais")
+    void listOccurrences_invalidWindow() {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(IllegalArgumentException.class, () -> eventService.listOccurrences(principal, now, now.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> eventService.listOccurrences(principal, now, now.plusYears(2)));
+        verifyNoInteractions(eventRepository);
     }
 }
@@ -0,0 +1,85 @@
+package com.morpheus.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTimingWheelTest {
+
+    private EventTimingWheel eventTimingWheel;
+    private List<Long> firedIds;
+
+    @BeforeEach
+    void setUp() {
+        eventTimingWheel = new EventTimingWheel(10, 64, 10);
+        firedIds = new CopyOnWriteArrayList<>();
+        eventTimingWheel.start((Collection<Long> ids) -> firedIds.addAll(ids));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventTimingWheel.stop();
+    }
+
+    @Test
+    void schedule_dueEvent_isFiredOnce() throws Exception {
+        assertTrue(eventTimingWheel.schedule(1L, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(50))));
+        waitUntil(() -> firedIds.contains(1L));
+        Thread.sleep(100);
+        assertEquals(List.of(1L), firedIds);
+        assertFalse(eventTimingWheel.isScheduled(1L));
+    }
+
+    @Test
+    void schedule_pastEvent_isFiredOnNextTick() throws Exception {
+        assertTrue(eventTimingWheel.schedule(2L, LocalDateTime.now().minusMinutes(1)));
+        waitUntil(() -> firedIds.contains(2L));
+    }
+
+    @Test
+    void schedule_beyondHorizon_isIgnored() {
+        assertFalse(eventTimingWheel.schedule(3L, LocalDateTime.now().plusHours(1)));
+        assertFalse(eventTimingWheel.isScheduled(3L));
+    }
+
+    @Test
+    void cancel_removesScheduledEvent() throws Exception {
+        eventTimingWheel.schedule(4L, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(100)));
+        eventTimingWheel.cancel(4L);
+        Thread.sleep(250);
+        assertTrue(firedIds.isEmpty());
+    }
+
+    @Test
+    void schedule_reschedule_firesOnlyAtNewDeadline() throws Exception {
+        eventTimingWheel.schedule(5L, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(50)));
+        eventTimingWheel.schedule(5L, LocalDateTime.now().plusMinutes(5));
+        Thread.sleep(250);
+        assertTrue(firedIds.isEmpty());
+        assertTrue(eventTimingWheel.isScheduled(5L));
+    }
+
+    @Test
+    void schedule_notRunning_isIgnored() {
+        EventTimingWheel stopped = new EventTimingWheel(10, 64, 10);
+        assertFalse(stopped.schedule(6L, LocalDateTime.now()));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condição não atendida dentro do tempo limite");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
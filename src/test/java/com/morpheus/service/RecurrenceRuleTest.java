@@ -0,0 +1,72 @@
+package com.morpheus.service;
+
+import com.morpheus.model.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+    @Test
+    void parse_fullRule_roundTrips() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:freq=daily;INTERVAL=2;COUNT=10");
+        assertEquals(RecurrenceFrequency.DAILY, rule.frequency());
+        assertEquals(2, rule.interval());
+        assertEquals(10, rule.count());
+        assertEquals("FREQ=DAILY;INTERVAL=2;COUNT=10", rule.format());
+        assertEquals(rule, RecurrenceRule.parse(rule.format()));
+    }
+
+    @Test
+    void parse_until_acceptsDateAndDateTime() {
+        assertEquals(LocalDateTime.of(2025, 12, 31, 23, 59, 59), RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=20251231").until());
+        assertEquals(LocalDateTime.of(2025, 6, 1, 8, 30), RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=20250601T083000Z").until());
+    }
+
+    @Test
+    void parse_invalidRules_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("INTERVAL=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20250101"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=amanha"));
+    }
+
+    @Test
+    void occurrence_monthly_isComputedFromSeriesStart() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+        assertEquals(Optional.of(LocalDateTime.of(2024, 2, 29, 9, 0)), rule.occurrence(START, 1));
+        assertEquals(Optional.of(LocalDateTime.of(2024, 3, 31, 9, 0)), rule.occurrence(START, 2));
+    }
+
+    @Test
+    void occurrence_respectsCountAndUntil() {
+        assertTrue(RecurrenceRule.parse("FREQ=DAILY;COUNT=3").occurrence(START, 2).isPresent());
+        assertTrue(RecurrenceRule.parse("FREQ=DAILY;COUNT=3").occurrence(START, 3).isEmpty());
+        assertTrue(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240201").occurrence(START, 1).isPresent());
+        assertTrue(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240201").occurrence(START, 2).isEmpty());
+    }
+
+    @Test
+    void firstIndexAtOrAfter_findsNextOccurrence() {
+        RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2");
+        assertEquals(0, daily.firstIndexAtOrAfter(START, START.minusDays(5)));
+        assertEquals(0, daily.firstIndexAtOrAfter(START, START));
+        assertEquals(1, daily.firstIndexAtOrAfter(START, START.plusMinutes(1)));
+        assertEquals(5, daily.firstIndexAtOrAfter(START, START.plusDays(10)));
+
+        RecurrenceRule monthly = RecurrenceRule.parse("FREQ=MONTHLY");
+        assertEquals(1, monthly.firstIndexAtOrAfter(START, LocalDateTime.of(2024, 2, 29, 9, 0)));
+        assertEquals(2, monthly.firstIndexAtOrAfter(START, LocalDateTime.of(2024, 2, 29, 9, 1)));
+
+        RecurrenceRule yearly = RecurrenceRule.parse("FREQ=YEARLY");
+        assertEquals(100, yearly.firstIndexAtOrAfter(START, START.plusYears(99).plusDays(1)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.morpheus.service;
+
+import com.morpheus.config.JwtProperties;
+import com.morpheus.exception.InvalidRefreshTokenException;
+import com.morpheus.model.entity.RefreshToken;
+import com.morpheus.model.entity.User;
+import com.morpheus.repository.RefreshTokenRepository;
+import com.morpheus.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private RefreshTokenService refreshTokenService;
+    private final Map<String, RefreshToken> stored = new HashMap<>();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.getRefresh().setExpiration(3600);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationService, properties);
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@email.com");
+        lenient().when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            stored.put(token.getId(), token);
+            return token;
+        });
+        lenient().when(refreshTokenRepository.findForRotation(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    @DisplayName("Deve emitir token opaco e armazenar apenas o hash do segredo")
+    void issue_storesHashOnly() {
+        String raw = refreshTokenService.issue(user);
+
+        String id = raw.substring(0, raw.indexOf('.'));
+        String secret = raw.substring(raw.indexOf('.') + 1);
+        RefreshToken token = stored.get(id);
+        assertNotNull(token);
+        assertEquals(64, token.getTokenHash().length());
+        assertFalse(token.getTokenHash().contains(secret));
+        assertSame(user, token.getUser());
+        assertTrue(token.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+        assertTrue(token.isNew());
+    }
+
+    @Test
+    @DisplayName("Deve rotacionar o token, revogando o atual e emitindo um sucessor da mesma cadeia")
+    void rotate_success() {
+        String raw = refreshTokenService.issue(user);
+        RefreshToken current = stored.get(raw.substring(0, raw.indexOf('.')));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(raw);
+
+        assertSame(user, rotation.user());
+        assertNotEquals(raw, rotation.refreshToken());
+        RefreshToken successor = stored.get(rotation.refreshToken().substring(0, rotation.refreshToken().indexOf('.')));
+        assertEquals(current.getFamilyId(), successor.getFamilyId());
+        assertNotNull(current.getRevokedAt());
+        assertEquals(successor.getId(), current.getReplacedBy());
+        assertNull(successor.getRevokedAt());
+    }
+
+    @Test
+    @DisplayName("Deve revogar a cadeia inteira quando um token já rotacionado for reutilizado")
+    void rotate_reuseRevokesFamily() {
+        String raw = refreshTokenService.issue(user);
+        String familyId = stored.get(raw.substring(0, raw.indexOf('.'))).getFamilyId();
+        refreshTokenService.rotate(raw);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(raw));
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(LocalDateTime.class));
+        verify(tokenRevocationService).revokeUser(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar token revogado por logout sem tratá-lo como reuso")
+    void rotate_loggedOutToken_isRejectedWithoutRevokingUser() {
+        String raw = refreshTokenService.issue(user);
+        stored.get(raw.substring(0, raw.indexOf('.'))).setRevokedAt(LocalDateTime.now());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(raw));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Deve revogar a cadeia no logout e ignorar tokens inválidos")
+    void revoke() {
+        String raw = refreshTokenService.issue(user);
+        String familyId = stored.get(raw.substring(0, raw.indexOf('.'))).getFamilyId();
+
+        refreshTokenService.revoke(raw);
+        refreshTokenService.revoke("desconhecido.segredo");
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(LocalDateTime.class));
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Deve recusar token com segredo incorreto, expirado ou malformado")
+    void rotate_invalid() {
+        String raw = refreshTokenService.issue(user);
+        String id = raw.substring(0, raw.indexOf('.'));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(id + ".segredoErrado"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("semSeparador"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(null));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("desconhecido.segredo"));
+
+        stored.get(id).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(raw));
+        assertNull(stored.get(id).getRevokedAt());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+}
@@ -0,0 +1,76 @@
+package com.morpheus.service;
+
+import com.morpheus.dto.UserIdentity;
+import com.morpheus.model.entity.User;
+import com.morpheus.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityCache userIdentityCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityCache = new UserIdentityCache(userRepository, 100, 600);
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@email.com");
+        user.setName("Usuário");
+    }
+
+    @Test
+    void resolve_missLoadsFromRepositoryOnce() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        Optional<UserIdentity> first = userIdentityCache.resolve(user.getEmail());
+        Optional<UserIdentity> second = userIdentityCache.resolve(user.getEmail());
+
+        assertEquals(Optional.of(new UserIdentity(1L, "user@email.com", "Usuário")), first);
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void resolve_unknownEmail_isNotCached() {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+
+        assertTrue(userIdentityCache.resolve("x@email.com").isEmpty());
+        assertTrue(userIdentityCache.resolve("x@email.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("x@email.com");
+    }
+
+    @Test
+    void put_populatesWithoutRepository() {
+        userIdentityCache.put(user);
+
+        assertEquals(1L, userIdentityCache.resolve(user.getEmail()).orElseThrow().id());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        userIdentityCache.put(user);
+        userIdentityCache.invalidate(user.getEmail());
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        userIdentityCache.resolve(user.getEmail());
+
+        verify(userRepository).findByEmail(user.getEmail());
+    }
+}